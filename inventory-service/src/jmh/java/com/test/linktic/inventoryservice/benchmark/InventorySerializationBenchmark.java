@@ -0,0 +1,58 @@
+package com.test.linktic.inventoryservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.linktic.inventoryservice.controller.InventoryController;
+import com.test.linktic.inventoryservice.model.Inventory;
+import com.test.linktic.inventoryservice.model.Product;
+import com.test.linktic.inventoryservice.model.jsonapi.JsonApiDocument;
+import com.test.linktic.inventoryservice.service.InventoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialisation of {@link Inventory} and of the JSON:API document built by
+ * {@link InventoryController#getInventoryByProductId(Long)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InventorySerializationBenchmark {
+
+    private InventoryController controller;
+    private ObjectMapper objectMapper;
+    private Inventory inventory;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        inventory = new Inventory(1L, 1L, 42, new Product(1L, "Laptop", 2500.0, "Gaming laptop with 32GB RAM"));
+
+        InventoryService service = new InventoryService(null, null, null, null, null, null, new SimpleMeterRegistry()) {
+            @Override
+            public Optional<Inventory> getByProductId(Long productId) {
+                return Optional.of(inventory);
+            }
+        };
+        controller = new InventoryController(service, null, 100, 1000);
+    }
+
+    @Benchmark
+    public byte[] inventoryJson() throws Exception {
+        return objectMapper.writeValueAsBytes(inventory);
+    }
+
+    @Benchmark
+    public JsonApiDocument getInventoryEnvelope() {
+        return controller.getInventoryByProductId(1L).getBody();
+    }
+
+    @Benchmark
+    public byte[] getInventoryJson() throws Exception {
+        return objectMapper.writeValueAsBytes(controller.getInventoryByProductId(1L).getBody());
+    }
+}
@@ -0,0 +1,93 @@
+package com.test.linktic.inventoryservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.test.linktic.inventoryservice.model.dto.ProductListResponse;
+import com.test.linktic.inventoryservice.model.dto.ProductResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Deserialisation of products-service answers as done by the product client:
+ * a single {@link ProductResponse} and a batched {@link ProductListResponse}, in JSON
+ * or CBOR ({@code product.client.format}), the list also gzip-compressed as sent by
+ * products-service. Payload sizes are printed once per trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductResponseBenchmark {
+
+    @Param({"100"})
+    int batchSize;
+
+    @Param({"json", "cbor"})
+    String format;
+
+    private ObjectMapper objectMapper;
+    private byte[] single;
+    private byte[] batch;
+    private byte[] gzippedBatch;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        objectMapper = format.equals("cbor")
+                ? Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build()
+                : jsonMapper;
+
+        String singleJson = "{\"data\":" + productJson(1) + "}";
+        String batchJson = IntStream.rangeClosed(1, batchSize)
+                .mapToObj(ProductResponseBenchmark::productJson)
+                .collect(Collectors.joining(",", "{\"data\":[", "]}"));
+
+        single = objectMapper.writeValueAsBytes(jsonMapper.readTree(singleJson));
+        batch = objectMapper.writeValueAsBytes(jsonMapper.readTree(batchJson));
+        gzippedBatch = gzip(batch);
+
+        System.out.printf("%n%s payload bytes: single=%d, batch of %d=%d, gzipped batch=%d%n",
+                format, single.length, batchSize, batch.length, gzippedBatch.length);
+    }
+
+    @Benchmark
+    public ProductResponse readProduct() throws Exception {
+        return objectMapper.readValue(single, ProductResponse.class);
+    }
+
+    @Benchmark
+    public ProductListResponse readProductList() throws Exception {
+        return objectMapper.readValue(batch, ProductListResponse.class);
+    }
+
+    @Benchmark
+    public ProductListResponse readGzippedProductList() throws Exception {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzippedBatch))) {
+            return objectMapper.readValue(in, ProductListResponse.class);
+        }
+    }
+
+    private static byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.toByteArray();
+    }
+
+    private static String productJson(int id) {
+        return "{\"type\":\"product\",\"id\":" + id + ",\"attributes\":{\"id\":" + id
+                + ",\"name\":\"Product " + id + "\",\"price\":" + (10.0 * id)
+                + ",\"description\":\"Description of product " + id + "\"}}";
+    }
+}
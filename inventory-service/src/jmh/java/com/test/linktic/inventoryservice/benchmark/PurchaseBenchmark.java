@@ -0,0 +1,82 @@
+package com.test.linktic.inventoryservice.benchmark;
+
+import com.test.linktic.inventoryservice.InventoryServiceApplication;
+import com.test.linktic.inventoryservice.model.Inventory;
+import com.test.linktic.inventoryservice.model.Product;
+import com.test.linktic.inventoryservice.model.dto.PurchaseResponse;
+import com.test.linktic.inventoryservice.repository.InventoryRepository;
+import com.test.linktic.inventoryservice.service.InventoryService;
+import com.test.linktic.inventoryservice.service.client.ProductClient;
+import com.test.linktic.inventoryservice.service.client.ReactiveProductClient;
+import com.test.linktic.inventoryservice.service.stock.HotStockLedger;
+import com.test.linktic.inventoryservice.service.stock.InventoryGroupCommitter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link InventoryService#purchaseProduct(Long, int)} against the in-memory H2 database,
+ * with products-service replaced by a mock. {@code database} runs the conditional UPDATE,
+ * {@code hot-stock} reserves through the in-memory ledger and {@code group-commit} writes
+ * the concurrent purchases of each window in one transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PurchaseBenchmark {
+
+    private static final long PRODUCT_ID = 1L;
+
+    @Param({"database", "hot-stock", "group-commit"})
+    String mode;
+
+    private ConfigurableApplicationContext context;
+    private InventoryService service;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(InventoryServiceApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:purchase-benchmark;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--inventory.hot-stock.enabled=" + mode.equals("hot-stock"),
+                "--inventory.hot-stock.fsync=false",
+                "--inventory.hot-stock.journal-dir=" + Files.createTempDirectory("stock-journal"),
+                "--inventory.group-commit.enabled=" + mode.equals("group-commit"));
+
+        InventoryRepository repository = context.getBean(InventoryRepository.class);
+        repository.save(new Inventory(null, PRODUCT_ID, Integer.MAX_VALUE, null));
+
+        ProductClient productClient = mock(ProductClient.class);
+        when(productClient.getProductById(PRODUCT_ID)).thenReturn(new Product(PRODUCT_ID, "Laptop", 2500.0, "Gaming"));
+
+        service = new InventoryService(
+                repository,
+                productClient,
+                mock(ReactiveProductClient.class),
+                context.getBean(HotStockLedger.class),
+                context.getBean(InventoryGroupCommitter.class),
+                context.getBean(PlatformTransactionManager.class),
+                context.getBean(MeterRegistry.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public PurchaseResponse purchaseProduct() {
+        return service.purchaseProduct(PRODUCT_ID, 1);
+    }
+}
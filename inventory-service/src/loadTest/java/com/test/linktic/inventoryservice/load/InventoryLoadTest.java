@@ -0,0 +1,154 @@
+package com.test.linktic.inventoryservice.load;
+
+import com.test.linktic.inventoryservice.InventoryServiceApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput and p50/p99 latency of the get-inventory, update-inventory and purchase
+ * scenarios. By default inventory-service is started in-process against a
+ * {@link StubProductService}; with {@code load.inventory-url} the scenarios run
+ * against an already running deployment instead, e.g. the docker-compose pair.
+ * <p>
+ * Settings are read from system properties, which the {@code loadTest} task fills
+ * from {@code -Pload.*} project properties:
+ * <ul>
+ *     <li>{@code load.scenarios} comma-separated subset of {@code get-inventory,update-inventory,purchase}</li>
+ *     <li>{@code load.concurrency} requests kept in flight (default 50)</li>
+ *     <li>{@code load.requests} requests per scenario (default 2000)</li>
+ *     <li>{@code load.products} distinct product IDs to spread requests over (default 50)</li>
+ *     <li>{@code load.downstream-latency-ms} stub latency per lookup (default 5)</li>
+ *     <li>{@code load.inventory-url} and {@code load.api-key} to target a running service</li>
+ * </ul>
+ * Results are printed and written to {@code build/reports/load/inventory.csv}.
+ */
+class InventoryLoadTest {
+
+    private static final List<String> SCENARIOS = List.of(
+            System.getProperty("load.scenarios", "get-inventory,update-inventory,purchase").split(","));
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 50);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 2_000);
+    private static final int PRODUCTS = Integer.getInteger("load.products", 50);
+    private static final Duration DOWNSTREAM_LATENCY =
+            Duration.ofMillis(Integer.getInteger("load.downstream-latency-ms", 5));
+    private static final String INVENTORY_URL = System.getProperty("load.inventory-url");
+    private static final String API_KEY = System.getProperty("load.api-key", "SECRET321");
+
+    private static final int INITIAL_STOCK = 1_000_000;
+
+    private final LoadGenerator generator = new LoadGenerator();
+
+    @Test
+    void inventoryScenarios() throws Exception {
+        List<LoadStats> results;
+
+        if (INVENTORY_URL != null) {
+            results = runScenarios(INVENTORY_URL, API_KEY);
+        } else {
+            try (StubProductService stub = StubProductService.start(DOWNSTREAM_LATENCY);
+                 ConfigurableApplicationContext context = startInventoryService(stub)) {
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                results = runScenarios(baseUrl, context.getEnvironment().getProperty("api.key"));
+            }
+        }
+
+        results.forEach(System.out::println);
+        writeReport(results);
+
+        assertThat(results).allSatisfy(stats -> assertThat(stats.errors()).isZero());
+    }
+
+    private ConfigurableApplicationContext startInventoryService(StubProductService stub) {
+        return new SpringApplicationBuilder(InventoryServiceApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:inventory-load",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--product.service.url=" + stub.url(),
+                "--product.client.pool.max-per-route=" + Math.max(CONCURRENCY, 100),
+                "--product.client.pool.acquire-timeout=5s"
+        );
+    }
+
+    private List<LoadStats> runScenarios(String baseUrl, String apiKey) throws InterruptedException {
+        generator.run("seed", PRODUCTS, Math.min(PRODUCTS, 10),
+                i -> updateInventory(baseUrl, apiKey, i + 1, INITIAL_STOCK));
+        generator.run("warm-up", 500, Math.min(CONCURRENCY, 20),
+                i -> getInventory(baseUrl, apiKey, productId(i)));
+
+        List<LoadStats> results = new ArrayList<>();
+        for (String scenario : SCENARIOS) {
+            IntFunction<HttpRequest> requests = switch (scenario.trim()) {
+                case "get-inventory" -> i -> getInventory(baseUrl, apiKey, productId(i));
+                case "update-inventory" -> i -> updateInventory(baseUrl, apiKey, productId(i), INITIAL_STOCK);
+                case "purchase" -> i -> purchase(baseUrl, apiKey, productId(i));
+                default -> throw new IllegalArgumentException("Unknown scenario: " + scenario
+                        + ", expected one of get-inventory, update-inventory, purchase");
+            };
+            results.add(generator.run(scenario.trim(), REQUESTS, CONCURRENCY, requests));
+        }
+        return results;
+    }
+
+    private static long productId(int i) {
+        return i % PRODUCTS + 1;
+    }
+
+    private static HttpRequest getInventory(String baseUrl, String apiKey, long productId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/inventory/" + productId))
+                .header("X-API-KEY", apiKey)
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest updateInventory(String baseUrl, String apiKey, long productId, int quantity) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/inventory"))
+                .header("X-API-KEY", apiKey)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(
+                        "{\"productId\":" + productId + ",\"quantity\":" + quantity + "}"))
+                .build();
+    }
+
+    private static HttpRequest purchase(String baseUrl, String apiKey, long productId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/inventory/purchase"))
+                .header("X-API-KEY", apiKey)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"productId\":" + productId + ",\"quantity\":1}"))
+                .build();
+    }
+
+    private static void writeReport(List<LoadStats> results) throws IOException {
+        Path report = Path.of("build", "reports", "load", "inventory.csv");
+        Files.createDirectories(report.getParent());
+
+        List<String> lines = new ArrayList<>();
+        lines.add("scenario,concurrency,requests,errors,throughput_rps,p50_ms,p99_ms");
+        for (LoadStats stats : results) {
+            lines.add(String.join(",", Arrays.asList(
+                    stats.name(),
+                    String.valueOf(CONCURRENCY),
+                    String.valueOf(stats.requests()),
+                    String.valueOf(stats.errors()),
+                    String.format(Locale.ROOT, "%.1f", stats.throughput()),
+                    String.format(Locale.ROOT, "%.2f", stats.percentileMillis(50)),
+                    String.format(Locale.ROOT, "%.2f", stats.percentileMillis(99)))));
+        }
+        Files.write(report, lines);
+    }
+}
@@ -0,0 +1,34 @@
+package com.test.linktic.inventoryservice.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Throughput and latency percentiles of one load run.
+ */
+public record LoadStats(String name, int requests, int errors, Duration elapsed, long[] latenciesNanos) {
+
+    public static LoadStats of(String name, int errors, Duration elapsed, long[] latenciesNanos) {
+        long[] sorted = latenciesNanos.clone();
+        Arrays.sort(sorted);
+        return new LoadStats(name, sorted.length, errors, elapsed, sorted);
+    }
+
+    public double throughput() {
+        return requests / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+
+    public double percentileMillis(double percentile) {
+        if (latenciesNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * latenciesNanos.length) - 1;
+        return latenciesNanos[Math.max(0, Math.min(index, latenciesNanos.length - 1))] / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-28s requests=%6d errors=%4d throughput=%9.1f req/s p50=%8.2f ms p99=%8.2f ms",
+                name, requests, errors, throughput(), percentileMillis(50), percentileMillis(99));
+    }
+}
@@ -0,0 +1,94 @@
+package com.test.linktic.inventoryservice.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Stand-in for products-service: answers product lookups after a fixed delay
+ * and records how many requests it was serving at the same time.
+ */
+public class StubProductService implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Duration latency;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private StubProductService(Duration latency) throws IOException {
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/api/products", this::handle);
+        this.server.start();
+    }
+
+    public static StubProductService start(Duration latency) throws IOException {
+        return new StubProductService(latency);
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/api/products";
+    }
+
+    public int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public void resetStats() {
+        maxInFlight.set(0);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+
+        try {
+            Thread.sleep(latency);
+
+            String query = exchange.getRequestURI().getQuery();
+            String path = exchange.getRequestURI().getPath();
+            String body;
+
+            if (query != null && query.startsWith("ids=")) {
+                body = "{\"data\":[" + Arrays.stream(query.substring(4).split(","))
+                        .map(id -> resource(Long.parseLong(id)))
+                        .collect(Collectors.joining(",")) + "]}";
+            } else {
+                body = "{\"data\":" + resource(Long.parseLong(path.substring(path.lastIndexOf('/') + 1))) + "}";
+            }
+
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(503, -1);
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private static String resource(long id) {
+        return "{\"type\":\"product\",\"id\":" + id + ",\"attributes\":{\"id\":" + id
+                + ",\"name\":\"Product " + id + "\",\"price\":10.0,\"description\":\"Load test product\"}}";
+    }
+}
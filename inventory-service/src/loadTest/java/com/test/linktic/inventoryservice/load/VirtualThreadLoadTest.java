@@ -0,0 +1,81 @@
+package com.test.linktic.inventoryservice.load;
+
+import com.test.linktic.inventoryservice.InventoryServiceApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the concurrency ceiling of inventory-service on a capped Tomcat
+ * platform-thread pool against virtual threads, with a products-service stub
+ * that takes {@link #DOWNSTREAM_LATENCY} per lookup. The product cache and
+ * batching are disabled so every request blocks on the downstream call.
+ */
+class VirtualThreadLoadTest {
+
+    private static final int PLATFORM_THREADS = 20;
+    private static final int CONCURRENCY = 200;
+    private static final int REQUESTS = 2_000;
+    private static final Duration DOWNSTREAM_LATENCY = Duration.ofMillis(50);
+
+    private final LoadGenerator generator = new LoadGenerator();
+
+    @Test
+    void virtualThreadsLiftTheConcurrencyCeiling() throws Exception {
+        try (StubProductService stub = StubProductService.start(DOWNSTREAM_LATENCY)) {
+            LoadStats platform = run(stub, false);
+            int platformInFlight = stub.maxInFlight();
+
+            stub.resetStats();
+            LoadStats virtual = run(stub, true);
+            int virtualInFlight = stub.maxInFlight();
+
+            System.out.println(platform + " max downstream in flight=" + platformInFlight);
+            System.out.println(virtual + " max downstream in flight=" + virtualInFlight);
+
+            assertThat(platform.errors()).isZero();
+            assertThat(virtual.errors()).isZero();
+            assertThat(platformInFlight).isLessThanOrEqualTo(PLATFORM_THREADS);
+            assertThat(virtualInFlight).isGreaterThan(PLATFORM_THREADS);
+        }
+    }
+
+    private LoadStats run(StubProductService stub, boolean virtualThreads) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InventoryServiceApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=" + PLATFORM_THREADS,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads,
+                        "--spring.jpa.show-sql=false",
+                        "--product.service.url=" + stub.url(),
+                        "--product.cache.enabled=false",
+                        "--product.client.batch.enabled=false",
+                        "--product.client.pool.max-per-route=" + CONCURRENCY,
+                        "--product.client.pool.acquire-timeout=5s"
+                )) {
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String apiKey = context.getEnvironment().getProperty("api.key");
+
+            generator.run("warm-up", 200, 20, i -> getInventory(baseUrl, apiKey, i));
+            stub.resetStats();
+
+            return generator.run(virtualThreads ? "get-inventory (virtual)" : "get-inventory (platform)",
+                    REQUESTS, CONCURRENCY, i -> getInventory(baseUrl, apiKey, i));
+        }
+    }
+
+    private static HttpRequest getInventory(String baseUrl, String apiKey, int i) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/inventory/" + (i % 50 + 1)))
+                .header("X-API-KEY", apiKey)
+                .GET()
+                .build();
+    }
+}
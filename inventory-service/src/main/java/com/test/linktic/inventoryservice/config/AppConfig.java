@@ -1,15 +1,65 @@
 package com.test.linktic.inventoryservice.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class AppConfig {
 
+    /**
+     * Reads CBOR besides JSON, for products-service answers requested with
+     * {@code product.client.format=cbor}.
+     */
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+                                     ClientHttpRequestFactory productRequestFactory,
+                                     Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return builder
+                .requestFactory(() -> productRequestFactory)
+                .additionalMessageConverters(new MappingJackson2CborHttpMessageConverter(
+                        objectMapperBuilder.factory(new CBORFactory()).build()))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder.build();
+    public WebClient productWebClient(WebClient.Builder builder,
+                                      @Value("${product.service.url}") String productServiceUrl,
+                                      @Value("${product.service.api-key}") String apiKey,
+                                      @Value("${spring.rest.template.connect-timeout:3s}") Duration connectTimeout,
+                                      @Value("${spring.rest.template.read-timeout:5s}") Duration readTimeout,
+                                      @Value("${product.client.pool.max-total:200}") int maxConnections,
+                                      @Value("${product.client.pool.keep-alive:30s}") Duration keepAlive,
+                                      @Value("${product.client.pool.acquire-timeout:1s}") Duration acquireTimeout) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("product-service")
+                .maxConnections(maxConnections)
+                .maxIdleTime(keepAlive)
+                .pendingAcquireTimeout(acquireTimeout)
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .compress(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+
+        return builder
+                .baseUrl(productServiceUrl)
+                .defaultHeader("X-API-KEY", apiKey)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
     }
 }
@@ -0,0 +1,98 @@
+package com.test.linktic.inventoryservice.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * HTTP client used by {@code ProductClient}. HTTP/1.1 goes through a pooled
+ * Apache HttpClient whose pool is exposed as metrics; HTTP/2 (h2 or h2c upgrade)
+ * goes through the JDK client, which multiplexes over a single connection.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager productConnectionManager(
+            @Value("${product.client.pool.max-total:200}") int maxTotal,
+            @Value("${product.client.pool.max-per-route:100}") int maxPerRoute,
+            @Value("${product.client.pool.time-to-live:5m}") Duration timeToLive,
+            @Value("${spring.rest.template.connect-timeout:3s}") Duration connectTimeout,
+            @Value("${spring.rest.template.read-timeout:5s}") Duration readTimeout) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory productRequestFactory(
+            PoolingHttpClientConnectionManager productConnectionManager,
+            @Value("${product.client.http.version:HTTP_1_1}") HttpClient.Version httpVersion,
+            @Value("${product.client.pool.keep-alive:30s}") Duration keepAlive,
+            @Value("${product.client.pool.acquire-timeout:1s}") Duration acquireTimeout,
+            @Value("${spring.rest.template.connect-timeout:3s}") Duration connectTimeout,
+            @Value("${spring.rest.template.read-timeout:5s}") Duration readTimeout) {
+        if (httpVersion == HttpClient.Version.HTTP_2) {
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(connectTimeout)
+                    .build());
+            requestFactory.setReadTimeout(readTimeout);
+            return requestFactory;
+        }
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(productConnectionManager)
+                .setKeepAliveStrategy(cappedKeepAlive(TimeValue.of(keepAlive)))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAlive))
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(acquireTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .build();
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    /**
+     * Honours the {@code Keep-Alive: timeout=} products-service sends, so a connection is
+     * never reused after the server has closed it, but keeps no connection longer than {@code max}.
+     */
+    static ConnectionKeepAliveStrategy cappedKeepAlive(TimeValue max) {
+        return (response, context) -> {
+            TimeValue offered = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return TimeValue.isPositive(offered) && offered.compareTo(max) < 0 ? offered : max;
+        };
+    }
+
+    @Bean
+    public MeterBinder productConnectionPoolMetrics(PoolingHttpClientConnectionManager productConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(productConnectionManager, "product-service");
+    }
+}
@@ -0,0 +1,48 @@
+package com.test.linktic.inventoryservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.linktic.inventoryservice.model.dto.ProductChangedEvent;
+import jakarta.jms.ConnectionFactory;
+import org.springframework.boot.autoconfigure.jms.DefaultJmsListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
+import org.springframework.jms.support.converter.MappingJackson2MessageConverter;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.jms.support.converter.MessageType;
+
+import java.util.Map;
+
+/**
+ * Subscription to the product change events of the broker embedded in products-service.
+ */
+@Configuration
+public class MessagingConfig {
+
+    @Bean
+    public MessageConverter productEventConverter(ObjectMapper objectMapper) {
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        converter.setTargetType(MessageType.TEXT);
+        converter.setTypeIdPropertyName("_type");
+        converter.setTypeIdMappings(Map.of("product-changed", ProductChangedEvent.class));
+        return converter;
+    }
+
+    /**
+     * Topic listener on a non-shared, non-durable subscription per instance with a single
+     * consumer, so every instance sees every event, in the order it was published.
+     */
+    @Bean
+    public DefaultJmsListenerContainerFactory productReplicaListenerFactory(
+            DefaultJmsListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory) {
+        DefaultJmsListenerContainerFactory factory = new DefaultJmsListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setPubSubDomain(true);
+        factory.setSubscriptionDurable(false);
+        factory.setSubscriptionShared(false);
+        factory.setConcurrency("1");
+        return factory;
+    }
+}
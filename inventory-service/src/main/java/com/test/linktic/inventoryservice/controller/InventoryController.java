@@ -1,12 +1,34 @@
 package com.test.linktic.inventoryservice.controller;
 
 import com.test.linktic.inventoryservice.model.Inventory;
+import com.test.linktic.inventoryservice.model.PurchaseRequest;
+import com.test.linktic.inventoryservice.model.dto.BulkPurchaseRequest;
+import com.test.linktic.inventoryservice.model.dto.PurchaseLineResult;
 import com.test.linktic.inventoryservice.model.dto.PurchaseResponse;
+import com.test.linktic.inventoryservice.model.jsonapi.CollectionDocument;
+import com.test.linktic.inventoryservice.model.jsonapi.ErrorDocument;
+import com.test.linktic.inventoryservice.model.jsonapi.InventoryResource;
+import com.test.linktic.inventoryservice.model.jsonapi.JsonApiDocument;
+import com.test.linktic.inventoryservice.model.jsonapi.PurchaseLineResource;
+import com.test.linktic.inventoryservice.model.jsonapi.PurchaseRequestResource;
+import com.test.linktic.inventoryservice.model.jsonapi.PurchaseResource;
+import com.test.linktic.inventoryservice.model.jsonapi.ResourceDocument;
+import com.test.linktic.inventoryservice.service.BulkPurchaseException;
+import com.test.linktic.inventoryservice.service.InventoryPage;
 import com.test.linktic.inventoryservice.service.InventoryService;
+import com.test.linktic.inventoryservice.service.UnknownProductsException;
+import com.test.linktic.inventoryservice.service.client.ProductServiceUnavailableException;
+import com.test.linktic.inventoryservice.service.purchase.AsyncPurchasePipeline;
+import com.test.linktic.inventoryservice.service.purchase.IdempotencyKeyReusedException;
+import com.test.linktic.inventoryservice.service.purchase.PurchaseQueueFullException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import reactor.core.publisher.Mono;
 
-import java.util.HashMap;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
@@ -14,101 +36,305 @@ import java.util.Map;
 @RequestMapping("/api/inventory")
 public class InventoryController {
 
+    private static final int MAX_BULK_LINES = 5000;
+
     private final InventoryService service;
+    private final AsyncPurchasePipeline purchasePipeline;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    public InventoryController(InventoryService service) {
+    public InventoryController(InventoryService service,
+                               AsyncPurchasePipeline purchasePipeline,
+                               @Value("${inventory.listing.default-page-size:100}") int defaultPageSize,
+                               @Value("${inventory.listing.max-page-size:1000}") int maxPageSize) {
         this.service = service;
+        this.purchasePipeline = purchasePipeline;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Lists inventory with product details, one page at a time, in inventory id order.
+     * Pass the {@code meta.page.nextCursor} of a page as {@code after} to get the next one;
+     * {@code lowStockBelow} keeps only rows with a smaller quantity.
+     */
+    @GetMapping
+    public ResponseEntity<JsonApiDocument> getInventory(@RequestParam(required = false) Long after,
+                                                        @RequestParam(required = false) Integer size,
+                                                        @RequestParam(required = false) Integer lowStockBelow) {
+        int pageSize = size != null ? size : defaultPageSize;
+
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            return ResponseEntity.status(400).body(ErrorDocument.of(
+                    400,
+                    "Invalid page size",
+                    "The page size must be between 1 and " + maxPageSize
+            ));
+        }
+
+        InventoryPage page = service.findPage(after, pageSize, lowStockBelow);
+
+        List<InventoryResource> inventories = page.inventories().stream()
+                .map(InventoryResource::withKeys)
+                .toList();
+
+        String next = page.hasNext()
+                ? ServletUriComponentsBuilder.fromCurrentRequest()
+                        .replaceQueryParam("after", page.nextCursor())
+                        .replaceQueryParam("size", pageSize)
+                        .toUriString()
+                : null;
+
+        return ResponseEntity.ok(new CollectionDocument(inventories, new CollectionDocument.Page(
+                pageSize,
+                page.nextCursor(),
+                ServletUriComponentsBuilder.fromCurrentRequest().toUriString(),
+                next
+        )));
     }
 
     @GetMapping("/{productId}")
-    public ResponseEntity<Map<String, Object>> getInventoryByProductId(@PathVariable Long productId) {
+    public ResponseEntity<JsonApiDocument> getInventoryByProductId(@PathVariable Long productId) {
         return service.getByProductId(productId)
-                .map(inventory -> {
-                    Map<String, Object> attributes = new HashMap<>();
-                    attributes.put("product", inventory.getProduct());
-                    attributes.put("quantity", inventory.getQuantity());
-
-                    return ResponseEntity.ok(Map.<String, Object>of(
-                            "data", Map.of(
-                                    "type", "inventory",
-                                    "id", inventory.getId(),
-                                    "attributes", attributes
-                            )
-                    ));
-                })
-                .orElseGet(() -> ResponseEntity.status(404).body(Map.of(
-                        "errors", List.of(Map.of(
-                                "status", "404",
-                                "title", "Inventory not found",
-                                "detail", "No inventory record found for product ID: " + productId
-                        ))
-                )));
+                .map(inventory -> ResponseEntity.<JsonApiDocument>ok(inventoryDocument(inventory)))
+                .orElseGet(() -> inventoryNotFound(productId));
+    }
+
+    @GetMapping("/reactive/{productId}")
+    public Mono<ResponseEntity<JsonApiDocument>> getInventoryByProductIdReactive(@PathVariable Long productId) {
+        return service.getByProductIdReactive(productId)
+                .map(inventory -> ResponseEntity.<JsonApiDocument>ok(inventoryDocument(inventory)))
+                .defaultIfEmpty(inventoryNotFound(productId));
+    }
+
+    private JsonApiDocument inventoryDocument(Inventory inventory) {
+        return new ResourceDocument(InventoryResource.of(inventory));
+    }
+
+    private ResponseEntity<JsonApiDocument> inventoryNotFound(Long productId) {
+        return ResponseEntity.status(404).body(ErrorDocument.of(
+                404,
+                "Inventory not found",
+                "No inventory record found for product ID: " + productId
+        ));
     }
 
     @PutMapping("")
-    public ResponseEntity<Map<String, Object>> updateInventory(
+    public ResponseEntity<JsonApiDocument> updateInventory(
             @RequestBody Inventory updatedInventory) {
 
         Inventory saved = service.updateQuantity(updatedInventory.getProductId(), updatedInventory.getQuantity());
 
         if (saved == null) {
-            return ResponseEntity.status(404).body(Map.of(
-                    "errors", List.of(Map.of(
-                            "status", "404",
-                            "title", "Product not found",
-                            "detail", "No product found for ID: " + updatedInventory.getProductId()
-                    ))
+            return ResponseEntity.status(404).body(ErrorDocument.of(
+                    404,
+                    "Product not found",
+                    "No product found for ID: " + updatedInventory.getProductId()
             ));
         }
 
-        return ResponseEntity.ok(Map.of(
-                "data", Map.of(
-                        "type", "inventory",
-                        "id", saved.getId(),
-                        "attributes", saved
-                )
-        ));
+        return ResponseEntity.ok(new ResourceDocument(InventoryResource.withKeys(saved)));
+    }
+
+    /**
+     * Sets the stock of up to {@value #MAX_BULK_LINES} products at once, creating
+     * inventory rows that do not exist yet. Either every line is applied or none is.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<JsonApiDocument> updateInventories(@RequestBody List<Inventory> lines) {
+        if (lines.size() > MAX_BULK_LINES) {
+            return ResponseEntity.status(400).body(ErrorDocument.of(
+                    400,
+                    "Too many lines",
+                    "A bulk update accepts at most " + MAX_BULK_LINES + " lines"
+            ));
+        }
+
+        try {
+            List<InventoryResource> inventories = service.updateQuantities(lines).stream()
+                    .map(InventoryResource::withKeys)
+                    .toList();
+
+            return ResponseEntity.ok(new CollectionDocument(inventories));
+
+        } catch (UnknownProductsException e) {
+            List<ErrorDocument.Error> errors = e.getProductIds().stream()
+                    .map(productId -> new ErrorDocument.Error(
+                            "404",
+                            "Product not found",
+                            "No product found for ID: " + productId
+                    ))
+                    .toList();
+
+            return ResponseEntity.status(404).body(new ErrorDocument(errors, null));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ErrorDocument.of(
+                    400,
+                    "Invalid inventory",
+                    e.getMessage()
+            ));
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(409).body(ErrorDocument.of(
+                    409,
+                    "Concurrent inventory update",
+                    "Another request created inventory for one of these products; retry the update"
+            ));
+        }
     }
 
     @PostMapping("/purchase")
-    public ResponseEntity<Map<String, Object>> purchaseProduct(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<JsonApiDocument> purchaseProduct(@RequestBody Map<String, Object> request) {
         try {
             Long productId = Long.valueOf(request.get("productId").toString());
             int quantity = Integer.parseInt(request.get("quantity").toString());
 
             PurchaseResponse purchase = service.purchaseProduct(productId, quantity);
 
-            return ResponseEntity.ok(Map.of(
-                    "data", Map.of(
-                            "type", "purchase",
-                            "attributes", purchase
-                    )
-            ));
+            return ResponseEntity.ok(new ResourceDocument(new PurchaseResource(purchase)));
 
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(404).body(Map.of(
-                    "errors", List.of(Map.of(
-                            "status", "404",
-                            "title", "Product or Inventory not found",
-                            "detail", e.getMessage()
-                    ))
+            return ResponseEntity.status(404).body(ErrorDocument.of(
+                    404,
+                    "Product or Inventory not found",
+                    e.getMessage()
             ));
         } catch (IllegalStateException e) {
-            return ResponseEntity.status(400).body(Map.of(
-                    "errors", List.of(Map.of(
-                            "status", "400",
-                            "title", "Insufficient stock",
-                            "detail", e.getMessage()
-                    ))
+            return ResponseEntity.status(400).body(ErrorDocument.of(
+                    400,
+                    "Insufficient stock",
+                    e.getMessage()
             ));
+        } catch (ProductServiceUnavailableException e) {
+            return productServiceUnavailable(e);
         } catch (Exception e) {
-            return ResponseEntity.status(500).body(Map.of(
-                    "errors", List.of(Map.of(
-                            "status", "500",
-                            "title", "Unexpected error",
-                            "detail", e.getMessage()
+            return ResponseEntity.status(500).body(ErrorDocument.of(
+                    500,
+                    "Unexpected error",
+                    e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Accepts a purchase for background processing and answers 202 with the request to
+     * poll at {@code Location}. Sending the same {@code Idempotency-Key} again returns the
+     * stored request (200 once it has finished) and never buys twice.
+     */
+    @PostMapping("/purchase/async")
+    public ResponseEntity<JsonApiDocument> purchaseProductAsync(
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody Map<String, Object> request) {
+        if (!purchasePipeline.isEnabled()) {
+            return asyncPurchasesDisabled();
+        }
+
+        if (request.get("productId") == null || request.get("quantity") == null) {
+            return ResponseEntity.status(400).body(ErrorDocument.of(
+                    400,
+                    "Invalid purchase",
+                    "Both productId and quantity are required"
+            ));
+        }
+
+        try {
+            Long productId = Long.valueOf(request.get("productId").toString());
+            int quantity = Integer.parseInt(request.get("quantity").toString());
+
+            PurchaseRequest accepted = purchasePipeline.submit(idempotencyKey, productId, quantity);
+
+            URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/api/inventory/purchase/requests/{id}")
+                    .buildAndExpand(accepted.getId())
+                    .toUri();
+
+            return ResponseEntity.status(accepted.isPending() ? 202 : 200)
+                    .location(location)
+                    .body(new ResourceDocument(new PurchaseRequestResource(accepted)));
+
+        } catch (IdempotencyKeyReusedException e) {
+            return ResponseEntity.status(422).body(ErrorDocument.of(
+                    422,
+                    "Idempotency key reused",
+                    e.getMessage()
+            ));
+        } catch (PurchaseQueueFullException e) {
+            return ResponseEntity.status(503).header("Retry-After", "1").body(ErrorDocument.of(
+                    503,
+                    "Purchase queue full",
+                    e.getMessage()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ErrorDocument.of(
+                    400,
+                    "Invalid purchase",
+                    e.getMessage()
+            ));
+        }
+    }
+
+    @GetMapping("/purchase/requests/{id}")
+    public ResponseEntity<JsonApiDocument> getPurchaseRequest(@PathVariable Long id) {
+        if (!purchasePipeline.isEnabled()) {
+            return asyncPurchasesDisabled();
+        }
+
+        return purchasePipeline.find(id)
+                .map(request -> ResponseEntity.<JsonApiDocument>ok(new ResourceDocument(new PurchaseRequestResource(request))))
+                .orElseGet(() -> ResponseEntity.status(404).body(ErrorDocument.of(
+                        404,
+                        "Purchase request not found",
+                        "No purchase request found for ID: " + id
+                )));
+    }
+
+    private ResponseEntity<JsonApiDocument> asyncPurchasesDisabled() {
+        return ResponseEntity.status(404).body(ErrorDocument.of(
+                404,
+                "Asynchronous purchases disabled",
+                "Set inventory.async-purchase.enabled=true to accept asynchronous purchases"
+        ));
+    }
+
+    @PostMapping("/purchase/bulk")
+    public ResponseEntity<JsonApiDocument> purchaseProducts(@RequestBody BulkPurchaseRequest request) {
+        try {
+            List<PurchaseLineResult> results = service.purchaseProducts(request.getLines());
+
+            List<PurchaseLineResource> purchases = results.stream()
+                    .map(PurchaseLineResource::new)
+                    .toList();
+
+            return ResponseEntity.ok(new CollectionDocument(purchases));
+
+        } catch (BulkPurchaseException e) {
+            List<ErrorDocument.Error> errors = e.getResults().stream()
+                    .filter(result -> result.getStatus() != PurchaseLineResult.Status.NOT_RESERVED)
+                    .map(result -> new ErrorDocument.Error(
+                            result.getStatus() == PurchaseLineResult.Status.INSUFFICIENT_STOCK ? "400" : "404",
+                            result.getStatus() == PurchaseLineResult.Status.INSUFFICIENT_STOCK
+                                    ? "Insufficient stock" : "Product or Inventory not found",
+                            "Line for product ID " + result.getProductId() + " was rejected: " + result.getStatus()
                     ))
+                    .toList();
+
+            return ResponseEntity.status(409).body(new ErrorDocument(errors, Map.of("lines", e.getResults())));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ErrorDocument.of(
+                    400,
+                    "Invalid purchase",
+                    e.getMessage()
             ));
         }
     }
+
+    @ExceptionHandler(ProductServiceUnavailableException.class)
+    public ResponseEntity<JsonApiDocument> productServiceUnavailable(ProductServiceUnavailableException e) {
+        return ResponseEntity.status(503).body(ErrorDocument.of(
+                503,
+                "Products service unavailable",
+                e.getMessage()
+        ));
+    }
 }
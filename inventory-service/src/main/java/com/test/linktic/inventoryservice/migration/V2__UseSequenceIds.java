@@ -0,0 +1,31 @@
+package com.test.linktic.inventoryservice.migration;
+
+import com.test.linktic.inventoryservice.model.Inventory;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Replaces the identity column of {@code inventory} with {@code inventory_seq}. The sequence
+ * starts one allocation block above the highest existing id, since Hibernate's pooled
+ * optimizer hands out the block that ends at the value it reads.
+ */
+public class V2__UseSequenceIds extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet result = statement.executeQuery("select coalesce(max(id), 0) from inventory")) {
+                result.next();
+                maxId = result.getLong(1);
+            }
+
+            statement.execute("alter table inventory alter column id drop identity");
+            statement.execute("create sequence inventory_seq start with " + (maxId + Inventory.ID_ALLOCATION_SIZE)
+                    + " increment by " + Inventory.ID_ALLOCATION_SIZE);
+        }
+    }
+}
@@ -11,12 +11,21 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_inventory_product_id", columnNames = "product_id"))
 public class Inventory {
 
+    /**
+     * Ids reserved per sequence call. Inserts need no round trip for their key, so
+     * Hibernate can send them in JDBC batches.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_seq")
+    @SequenceGenerator(name = "inventory_seq", sequenceName = "inventory_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
+    @Column(name = "product_id", nullable = false)
     private Long productId;
     private Integer quantity;
 
@@ -0,0 +1,35 @@
+package com.test.linktic.inventoryservice.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Local copy of the product fields inventory-service needs, kept up to date from
+ * the product change events of products-service. The id is the product ID.
+ * {@code syncedAt} is when the copy was last confirmed, by an event or over HTTP.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductReplica {
+
+    @Id
+    private Long id;
+
+    private String name;
+    private Double price;
+    private String description;
+    private Instant syncedAt;
+
+    public Product toProduct() {
+        return new Product(id, name, price, description);
+    }
+}
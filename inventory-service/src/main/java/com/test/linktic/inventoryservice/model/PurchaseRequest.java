@@ -0,0 +1,73 @@
+package com.test.linktic.inventoryservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * A purchase accepted by the asynchronous pipeline, stored under the client's
+ * idempotency key. It stays {@link Status#PENDING} until the pipeline has applied
+ * it; the stock change and the final status are committed together.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_purchase_request_idempotency_key",
+        columnNames = "idempotency_key"))
+public class PurchaseRequest {
+
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+
+    public enum Status {
+        PENDING,
+        COMPLETED,
+        PRODUCT_NOT_FOUND,
+        NO_INVENTORY,
+        INSUFFICIENT_STOCK,
+        /** Not queued because the queue was full; a retry with the same key queues it again. */
+        REJECTED,
+        /** Kept failing on its own after the batch it was in was retried; stock is untouched. */
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "purchase_request_seq")
+    @SequenceGenerator(name = "purchase_request_seq", sequenceName = "purchase_request_seq",
+            allocationSize = Inventory.ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "idempotency_key", nullable = false, length = MAX_IDEMPOTENCY_KEY_LENGTH)
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    private String productName;
+    private Integer remainingStock;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public boolean isPending() {
+        return status == Status.PENDING;
+    }
+}
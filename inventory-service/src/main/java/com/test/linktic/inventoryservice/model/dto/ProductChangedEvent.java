@@ -0,0 +1,17 @@
+package com.test.linktic.inventoryservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductChangedEvent {
+    private Long id;
+    private String name;
+    private Double price;
+    private String description;
+}
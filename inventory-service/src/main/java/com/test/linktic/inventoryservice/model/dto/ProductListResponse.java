@@ -0,0 +1,17 @@
+package com.test.linktic.inventoryservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductListResponse {
+
+    private List<ProductResponse.ProductData> data;
+}
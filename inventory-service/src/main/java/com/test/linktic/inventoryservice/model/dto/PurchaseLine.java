@@ -0,0 +1,15 @@
+package com.test.linktic.inventoryservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurchaseLine {
+    private Long productId;
+    private Integer quantity;
+}
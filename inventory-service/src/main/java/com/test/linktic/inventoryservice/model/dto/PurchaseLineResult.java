@@ -0,0 +1,27 @@
+package com.test.linktic.inventoryservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurchaseLineResult {
+
+    public enum Status {
+        RESERVED,
+        NOT_RESERVED,
+        PRODUCT_NOT_FOUND,
+        NO_INVENTORY,
+        INSUFFICIENT_STOCK
+    }
+
+    private Long productId;
+    private String productName;
+    private int quantityPurchased;
+    private Integer remainingStock;
+    private Status status;
+}
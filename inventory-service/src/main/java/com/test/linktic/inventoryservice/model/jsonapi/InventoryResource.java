@@ -0,0 +1,44 @@
+package com.test.linktic.inventoryservice.model.jsonapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.test.linktic.inventoryservice.model.Inventory;
+
+import java.io.IOException;
+
+/**
+ * Inventory of one product. The read view carries {@code product} and {@code quantity};
+ * with {@code keys} the attributes also repeat {@code id} and {@code productId}, as
+ * returned after an update.
+ */
+public record InventoryResource(Inventory inventory, boolean keys) implements Resource {
+
+    public static InventoryResource of(Inventory inventory) {
+        return new InventoryResource(inventory, false);
+    }
+
+    public static InventoryResource withKeys(Inventory inventory) {
+        return new InventoryResource(inventory, true);
+    }
+
+    @Override
+    public String type() {
+        return "inventory";
+    }
+
+    @Override
+    public Long id() {
+        return inventory.getId();
+    }
+
+    @Override
+    public void writeAttributes(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        if (keys) {
+            JsonFields.writeNumberField(generator, "id", inventory.getId());
+            JsonFields.writeNumberField(generator, "productId", inventory.getProductId());
+        }
+        JsonFields.writeNumberField(generator, "quantity", inventory.getQuantity());
+        JsonFields.writeProductField(generator, "product", inventory.getProduct());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,54 @@
+package com.test.linktic.inventoryservice.model.jsonapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.test.linktic.inventoryservice.model.Product;
+
+import java.io.IOException;
+
+/**
+ * Null-aware field writers matching what Jackson emits for boxed numbers and
+ * for the {@link Product} bean.
+ */
+final class JsonFields {
+
+    private JsonFields() {
+    }
+
+    static void writeNumberField(JsonGenerator generator, String name, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value.longValue());
+        }
+    }
+
+    static void writeNumberField(JsonGenerator generator, String name, Integer value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value.intValue());
+        }
+    }
+
+    static void writeNumberField(JsonGenerator generator, String name, Double value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value.doubleValue());
+        }
+    }
+
+    static void writeProductField(JsonGenerator generator, String name, Product product) throws IOException {
+        if (product == null) {
+            generator.writeNullField(name);
+            return;
+        }
+
+        generator.writeObjectFieldStart(name);
+        writeNumberField(generator, "id", product.getId());
+        generator.writeStringField("name", product.getName());
+        writeNumberField(generator, "price", product.getPrice());
+        generator.writeStringField("description", product.getDescription());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,38 @@
+package com.test.linktic.inventoryservice.model.jsonapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.test.linktic.inventoryservice.model.dto.PurchaseLineResult;
+
+import java.io.IOException;
+
+/**
+ * One line of a bulk purchase, written with the {@code purchase} type.
+ */
+public record PurchaseLineResource(PurchaseLineResult line) implements Resource {
+
+    @Override
+    public String type() {
+        return "purchase";
+    }
+
+    @Override
+    public Long id() {
+        return null;
+    }
+
+    @Override
+    public boolean hasId() {
+        return false;
+    }
+
+    @Override
+    public void writeAttributes(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        JsonFields.writeNumberField(generator, "productId", line.getProductId());
+        generator.writeStringField("productName", line.getProductName());
+        generator.writeNumberField("quantityPurchased", line.getQuantityPurchased());
+        JsonFields.writeNumberField(generator, "remainingStock", line.getRemainingStock());
+        generator.writeStringField("status", line.getStatus() != null ? line.getStatus().name() : null);
+        generator.writeEndObject();
+    }
+}
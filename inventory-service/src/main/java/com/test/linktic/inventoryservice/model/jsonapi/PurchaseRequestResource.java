@@ -0,0 +1,37 @@
+package com.test.linktic.inventoryservice.model.jsonapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.test.linktic.inventoryservice.model.PurchaseRequest;
+
+import java.io.IOException;
+
+/**
+ * An asynchronous purchase. {@code productName} and {@code remainingStock} are filled
+ * in once the request has left {@code PENDING}.
+ */
+public record PurchaseRequestResource(PurchaseRequest request) implements Resource {
+
+    @Override
+    public String type() {
+        return "purchase-request";
+    }
+
+    @Override
+    public Long id() {
+        return request.getId();
+    }
+
+    @Override
+    public void writeAttributes(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("idempotencyKey", request.getIdempotencyKey());
+        generator.writeStringField("status", request.getStatus().name());
+        JsonFields.writeNumberField(generator, "productId", request.getProductId());
+        generator.writeStringField("productName", request.getProductName());
+        JsonFields.writeNumberField(generator, "quantity", request.getQuantity());
+        JsonFields.writeNumberField(generator, "remainingStock", request.getRemainingStock());
+        generator.writeStringField("createdAt", request.getCreatedAt().toString());
+        generator.writeStringField("updatedAt", request.getUpdatedAt().toString());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,34 @@
+package com.test.linktic.inventoryservice.model.jsonapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.test.linktic.inventoryservice.model.dto.PurchaseResponse;
+
+import java.io.IOException;
+
+public record PurchaseResource(PurchaseResponse purchase) implements Resource {
+
+    @Override
+    public String type() {
+        return "purchase";
+    }
+
+    @Override
+    public Long id() {
+        return null;
+    }
+
+    @Override
+    public boolean hasId() {
+        return false;
+    }
+
+    @Override
+    public void writeAttributes(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        JsonFields.writeNumberField(generator, "productId", purchase.getProductId());
+        generator.writeStringField("productName", purchase.getProductName());
+        generator.writeNumberField("quantityPurchased", purchase.getQuantityPurchased());
+        generator.writeNumberField("remainingStock", purchase.getRemainingStock());
+        generator.writeEndObject();
+    }
+}
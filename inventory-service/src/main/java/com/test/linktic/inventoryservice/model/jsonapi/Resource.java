@@ -0,0 +1,33 @@
+package com.test.linktic.inventoryservice.model.jsonapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * A JSON:API resource object: {@code type}, {@code id} and {@code attributes}.
+ * Resources that are not stored on their own, such as a purchase, have no {@code id}.
+ */
+public interface Resource {
+
+    String type();
+
+    Long id();
+
+    void writeAttributes(JsonGenerator generator) throws IOException;
+
+    default boolean hasId() {
+        return true;
+    }
+
+    default void write(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", type());
+        if (hasId()) {
+            JsonFields.writeNumberField(generator, "id", id());
+        }
+        generator.writeFieldName("attributes");
+        writeAttributes(generator);
+        generator.writeEndObject();
+    }
+}
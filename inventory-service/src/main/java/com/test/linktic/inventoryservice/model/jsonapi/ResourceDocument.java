@@ -0,0 +1,19 @@
+package com.test.linktic.inventoryservice.model.jsonapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Document whose primary data is a single resource.
+ */
+public record ResourceDocument(Resource data) implements JsonApiDocument {
+
+    @Override
+    public void write(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("data");
+        data.write(generator);
+        generator.writeEndObject();
+    }
+}
@@ -1,11 +1,55 @@
 package com.test.linktic.inventoryservice.repository;
 
 import com.test.linktic.inventoryservice.model.Inventory;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface InventoryRepository extends JpaRepository<Inventory,Long> {
 
     Optional<Inventory> findByProductId(Long productId);
+
+    List<Inventory> findAllByProductIdIn(Collection<Long> productIds);
+
+    /**
+     * Loads and locks the rows of several products, in product ID order so that
+     * concurrent callers lock them in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Inventory i where i.productId in :productIds order by i.productId")
+    List<Inventory> lockAllByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    List<Inventory> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Inventory> findByIdGreaterThanAndQuantityLessThanOrderByIdAsc(Long id, Integer quantity, Limit limit);
+
+    @Query("select i.quantity from Inventory i where i.productId = :productId")
+    Optional<Integer> findQuantityByProductId(@Param("productId") Long productId);
+
+    /**
+     * Overwrites the stock of an existing row. Returns 0 when there is no inventory row.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Inventory i set i.quantity = :quantity where i.productId = :productId")
+    int updateQuantity(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    /**
+     * Decrements the stock in a single conditional statement.
+     * Returns 0 when there is no inventory row or not enough stock.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Inventory i set i.quantity = i.quantity - :quantity " +
+            "where i.productId = :productId and i.quantity >= :quantity")
+    int decrementQuantity(@Param("productId") Long productId, @Param("quantity") int quantity);
 }
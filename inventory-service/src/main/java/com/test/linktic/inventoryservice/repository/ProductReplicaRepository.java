@@ -0,0 +1,56 @@
+package com.test.linktic.inventoryservice.repository;
+
+import com.test.linktic.inventoryservice.model.ProductReplica;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface ProductReplicaRepository extends JpaRepository<ProductReplica, Long> {
+
+    /**
+     * Writes the copy carried by a change event, replacing whatever is stored.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("insert into ProductReplica (id, name, price, description, syncedAt) "
+            + "values (:id, :name, :price, :description, :syncedAt) "
+            + "on conflict(id) do update set name = excluded.name, price = excluded.price, "
+            + "description = excluded.description, syncedAt = excluded.syncedAt")
+    int upsert(@Param("id") Long id,
+               @Param("name") String name,
+               @Param("price") Double price,
+               @Param("description") String description,
+               @Param("syncedAt") Instant syncedAt);
+
+    /**
+     * Inserts the copy unless a row for the product already exists. Returns 0 when it does.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("insert into ProductReplica (id, name, price, description, syncedAt) "
+            + "values (:id, :name, :price, :description, :syncedAt) on conflict do nothing")
+    int insertIfAbsent(@Param("id") Long id,
+                       @Param("name") String name,
+                       @Param("price") Double price,
+                       @Param("description") String description,
+                       @Param("syncedAt") Instant syncedAt);
+
+    /**
+     * Overwrites the row only while it was last synced before {@code staleBefore}, so a
+     * change event applied in the meantime is never replaced. Returns 0 otherwise.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update ProductReplica r set r.name = :name, r.price = :price, r.description = :description, "
+            + "r.syncedAt = :syncedAt where r.id = :id and (r.syncedAt is null or r.syncedAt < :staleBefore)")
+    int refreshIfStale(@Param("id") Long id,
+                       @Param("name") String name,
+                       @Param("price") Double price,
+                       @Param("description") String description,
+                       @Param("syncedAt") Instant syncedAt,
+                       @Param("staleBefore") Instant staleBefore);
+}
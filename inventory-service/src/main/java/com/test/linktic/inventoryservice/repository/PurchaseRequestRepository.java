@@ -0,0 +1,51 @@
+package com.test.linktic.inventoryservice.repository;
+
+import com.test.linktic.inventoryservice.model.PurchaseRequest;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PurchaseRequestRepository extends JpaRepository<PurchaseRequest, Long> {
+
+    Optional<PurchaseRequest> findByIdempotencyKey(String idempotencyKey);
+
+    List<PurchaseRequest> findByStatusOrderByIdAsc(PurchaseRequest.Status status);
+
+    /**
+     * Locks the requests that are still pending, so another instance resuming the same
+     * requests waits and then finds them finished.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<PurchaseRequest> findByIdInAndStatus(Collection<Long> ids, PurchaseRequest.Status status);
+
+    /**
+     * Moves a request from {@code from} to {@code to}, only if it is still in {@code from}.
+     * Returns 0 when another thread changed it first.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update PurchaseRequest p set p.status = :to, p.updatedAt = :now where p.id = :id and p.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") PurchaseRequest.Status from,
+                   @Param("to") PurchaseRequest.Status to,
+                   @Param("now") Instant now);
+
+    /**
+     * Forgets finished requests last updated before {@code cutoff}; a retry after that
+     * is treated as a new purchase. Pending requests are never removed.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from PurchaseRequest p where p.status <> com.test.linktic.inventoryservice.model.PurchaseRequest.Status.PENDING " +
+            "and p.updatedAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,21 @@
+package com.test.linktic.inventoryservice.service;
+
+import com.test.linktic.inventoryservice.model.dto.PurchaseLineResult;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Thrown when at least one line of a bulk purchase cannot be reserved.
+ * No stock is taken in that case; {@link #getResults()} explains every line.
+ */
+@Getter
+public class BulkPurchaseException extends RuntimeException {
+
+    private final List<PurchaseLineResult> results;
+
+    public BulkPurchaseException(List<PurchaseLineResult> results) {
+        super("The purchase could not be reserved");
+        this.results = results;
+    }
+}
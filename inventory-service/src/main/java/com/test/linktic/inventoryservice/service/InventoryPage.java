@@ -0,0 +1,17 @@
+package com.test.linktic.inventoryservice.service;
+
+import com.test.linktic.inventoryservice.model.Inventory;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated inventory listing, with products attached.
+ * {@code nextCursor} is the inventory id to pass as {@code after} for the following
+ * page, or {@code null} on the last page.
+ */
+public record InventoryPage(List<Inventory> inventories, Long nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
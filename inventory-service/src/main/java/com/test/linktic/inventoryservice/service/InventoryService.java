@@ -2,23 +2,59 @@ package com.test.linktic.inventoryservice.service;
 
 import com.test.linktic.inventoryservice.model.Inventory;
 import com.test.linktic.inventoryservice.model.Product;
+import com.test.linktic.inventoryservice.model.dto.PurchaseLine;
+import com.test.linktic.inventoryservice.model.dto.PurchaseLineResult;
 import com.test.linktic.inventoryservice.model.dto.PurchaseResponse;
 import com.test.linktic.inventoryservice.repository.InventoryRepository;
 import com.test.linktic.inventoryservice.service.client.ProductClient;
+import com.test.linktic.inventoryservice.service.client.ReactiveProductClient;
+import com.test.linktic.inventoryservice.service.stock.HotStockLedger;
+import com.test.linktic.inventoryservice.service.stock.InventoryGroupCommitter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.HttpClientErrorException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "inventory.service")
 public class InventoryService {
 
     private final InventoryRepository repository;
     private final ProductClient productClient;
+    private final ReactiveProductClient reactiveProductClient;
+    private final HotStockLedger hotStockLedger;
+    private final InventoryGroupCommitter groupCommitter;
+    private final TransactionTemplate transactionTemplate;
+    private final PurchaseCounters purchaseCounters;
 
-    public InventoryService(InventoryRepository repository, ProductClient productClient) {
+    public InventoryService(InventoryRepository repository,
+                            ProductClient productClient,
+                            ReactiveProductClient reactiveProductClient,
+                            HotStockLedger hotStockLedger,
+                            InventoryGroupCommitter groupCommitter,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
         this.repository = repository;
         this.productClient = productClient;
+        this.reactiveProductClient = reactiveProductClient;
+        this.hotStockLedger = hotStockLedger;
+        this.groupCommitter = groupCommitter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purchaseCounters = new PurchaseCounters(meterRegistry);
     }
 
     public Optional<Inventory> getByProductId(Long productId) {
@@ -29,16 +65,72 @@ public class InventoryService {
             return Optional.empty();
         }
 
-        Optional<Inventory> inventoryOpt = repository.findByProductId(productId);
+        return Optional.of(toInventoryView(productId, product, repository.findByProductId(productId)));
+    }
+
+    /**
+     * Returns up to {@code size} inventory rows with an id greater than {@code after}, in id
+     * order, optionally only those with a quantity below {@code lowStockBelow}. Products for
+     * the whole page are fetched with a single batched lookup; rows whose product no longer
+     * exists are returned without one. With hot stock enabled the filter sees the last
+     * quantity flushed to the database, while the page shows the ledger's.
+     */
+    public InventoryPage findPage(Long after, int size, Integer lowStockBelow) {
+        long cursor = after != null ? after : 0L;
+        Limit limit = Limit.of(size + 1);
+
+        List<Inventory> rows = lowStockBelow != null
+                ? repository.findByIdGreaterThanAndQuantityLessThanOrderByIdAsc(cursor, lowStockBelow, limit)
+                : repository.findByIdGreaterThanOrderByIdAsc(cursor, limit);
+
+        Long nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = rows.get(size - 1).getId();
+        }
+
+        Map<Long, Product> products = productClient.getProductsByIds(
+                rows.stream().map(Inventory::getProductId).collect(Collectors.toSet()));
+
+        for (Inventory inventory : rows) {
+            if (hotStockLedger.isEnabled()) {
+                hotStockLedger.getQuantity(inventory.getProductId()).ifPresent(inventory::setQuantity);
+            }
+            inventory.setProduct(products.get(inventory.getProductId()));
+        }
+
+        return new InventoryPage(rows, nextCursor);
+    }
+
+    /**
+     * Reactive variant of {@link #getByProductId(Long)}: the product lookup and the
+     * inventory query run concurrently. Completes empty when the product does not exist.
+     */
+    public Mono<Inventory> getByProductIdReactive(Long productId) {
+        Mono<Optional<Inventory>> inventoryMono = Mono.fromCallable(() -> repository.findByProductId(productId))
+                .subscribeOn(Schedulers.boundedElastic());
+
+        return Mono.zip(reactiveProductClient.getProductById(productId), inventoryMono)
+                .flatMap(tuple -> Mono.fromCallable(() -> toInventoryView(productId, tuple.getT1(), tuple.getT2()))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    /**
+     * Builds the inventory view of an existing product. Products without an inventory
+     * row get a zero-stock view that is not persisted, so reads never write.
+     */
+    private Inventory toInventoryView(Long productId, Product product, Optional<Inventory> inventoryOpt) {
         Inventory inventory;
 
         if (inventoryOpt.isPresent()) {
             inventory = inventoryOpt.get();
+            if (hotStockLedger.isEnabled()) {
+                hotStockLedger.getQuantity(productId).ifPresent(inventory::setQuantity);
+            }
         } else {
             inventory = new Inventory();
             inventory.setProductId(productId);
             inventory.setQuantity(0);
-            repository.save(inventory);
         }
 
         inventory.setProduct(new Product(
@@ -48,7 +140,7 @@ public class InventoryService {
                 product.getDescription()
         ));
 
-        return Optional.of(inventory);
+        return inventory;
     }
 
     public Inventory updateQuantity(Long productId, Integer quantity) {
@@ -61,20 +153,102 @@ public class InventoryService {
             return null;
         }
 
-        Optional<Inventory> inventoryOpt = repository.findByProductId(productId);
-        Inventory inventory;
-
-        if (inventoryOpt.isPresent()) {
-            inventory = inventoryOpt.get();
-        } else {
-            inventory = new Inventory();
-            inventory.setProductId(productId);
+        if (hotStockLedger.isEnabled()) {
+            Optional<Inventory> inventoryOpt = repository.findByProductId(productId);
+            if (inventoryOpt.isPresent()) {
+                Inventory inventory = inventoryOpt.get();
+                hotStockLedger.set(productId, quantity);
+                inventory.setQuantity(quantity);
+                inventory.setProduct(product);
+                return inventory;
+            }
         }
 
-        inventory.setQuantity(quantity);
+        Inventory inventory = groupCommitter.isEnabled()
+                ? groupCommitter.setQuantity(productId, quantity)
+                : upsertQuantity(productId, quantity);
+        hotStockLedger.refresh(productId, inventory.getQuantity());
         inventory.setProduct(product);
 
-        return repository.save(inventory);
+        return inventory;
+    }
+
+    /**
+     * Sets the stock of many products at once, inserting the rows that do not exist yet.
+     * All rows are written in one transaction, so new rows go out as batched inserts.
+     * With hot stock enabled, existing rows are set through the ledger as in
+     * {@link #updateQuantity(Long, Integer)}.
+     */
+    public List<Inventory> updateQuantities(List<Inventory> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("A bulk update needs at least one line");
+        }
+
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (Inventory line : lines) {
+            if (line.getProductId() == null || line.getQuantity() == null || line.getQuantity() < 0) {
+                throw new IllegalArgumentException("Every line needs a product ID and a quantity of zero or more");
+            }
+            if (quantities.put(line.getProductId(), line.getQuantity()) != null) {
+                throw new IllegalArgumentException("Product ID " + line.getProductId() + " appears more than once");
+            }
+        }
+
+        Map<Long, Product> products = productClient.getProductsByIds(quantities.keySet());
+        List<Long> unknown = quantities.keySet().stream()
+                .filter(productId -> !products.containsKey(productId))
+                .toList();
+        if (!unknown.isEmpty()) {
+            throw new UnknownProductsException(unknown);
+        }
+
+        Map<Long, Long> inventoryIds = new HashMap<>();
+        Map<Long, Integer> ledgerUpdates = new HashMap<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Inventory> existing = repository.findAllByProductIdIn(quantities.keySet()).stream()
+                    .collect(Collectors.toMap(Inventory::getProductId, inventory -> inventory));
+
+            List<Inventory> rows = new ArrayList<>();
+            quantities.forEach((productId, quantity) -> {
+                Inventory row = existing.get(productId);
+                if (row == null) {
+                    rows.add(new Inventory(null, productId, quantity, null));
+                } else if (hotStockLedger.isEnabled()) {
+                    ledgerUpdates.put(productId, quantity);
+                } else {
+                    row.setQuantity(quantity);
+                }
+            });
+
+            existing.values().forEach(row -> inventoryIds.put(row.getProductId(), row.getId()));
+            repository.saveAll(rows).forEach(row -> inventoryIds.put(row.getProductId(), row.getId()));
+        });
+
+        ledgerUpdates.forEach(hotStockLedger::set);
+
+        return quantities.entrySet().stream()
+                .map(entry -> new Inventory(inventoryIds.get(entry.getKey()), entry.getKey(), entry.getValue(),
+                        products.get(entry.getKey())))
+                .toList();
+    }
+
+    /**
+     * Sets the stock of a product, inserting its row on first write. The unique index on
+     * {@code product_id} turns a concurrent first insert into a constraint violation,
+     * after which the row exists and the update is simply retried.
+     */
+    private Inventory upsertQuantity(Long productId, int quantity) {
+        if (repository.updateQuantity(productId, quantity) == 0) {
+            try {
+                return repository.saveAndFlush(new Inventory(null, productId, quantity, null));
+            } catch (DataIntegrityViolationException e) {
+                repository.updateQuantity(productId, quantity);
+            }
+        }
+
+        return repository.findByProductId(productId)
+                .orElseThrow(() -> new IllegalStateException("Inventory row vanished for product " + productId));
     }
 
     public PurchaseResponse purchaseProduct(Long productId, int quantity) {
@@ -83,28 +257,192 @@ public class InventoryService {
             throw new IllegalArgumentException("Quantity must be greater than zero");
         }
 
+        try {
+            PurchaseResponse response = reserve(productId, quantity);
+            purchaseCounters.succeeded();
+            return response;
+        } catch (IllegalStateException e) {
+            purchaseCounters.insufficientStock();
+            throw e;
+        } catch (IllegalArgumentException e) {
+            purchaseCounters.notFound();
+            throw e;
+        }
+    }
+
+    private PurchaseResponse reserve(Long productId, int quantity) {
         try {
             Product product = productClient.getProductById(productId);
 
-            Inventory inventory = repository.findByProductId(productId)
-                    .orElseThrow(() -> new IllegalArgumentException("No inventory found for product ID: " + productId));
+            if (product == null) {
+                throw new IllegalArgumentException("Product with ID " + productId + " not found");
+            }
 
-            if (inventory.getQuantity() < quantity) {
-                throw new IllegalStateException("Insufficient inventory for product ID: " + productId);
+            if (hotStockLedger.isEnabled()) {
+                int remainingStock = hotStockLedger.reserve(productId, quantity);
+                return new PurchaseResponse(product.getId(), product.getName(), quantity, remainingStock);
             }
 
-            inventory.setQuantity(inventory.getQuantity() - quantity);
-            repository.save(inventory);
+            if (groupCommitter.isEnabled()) {
+                int remainingStock = groupCommitter.decrement(productId, quantity).getQuantity();
+                return new PurchaseResponse(product.getId(), product.getName(), quantity, remainingStock);
+            }
+
+            // The decremented row stays locked until commit, so the read sees exactly the
+            // stock this purchase left, not one changed by a concurrent purchase.
+            int remainingStock = transactionTemplate.execute(status -> {
+                if (repository.decrementQuantity(productId, quantity) == 0) {
+                    if (repository.findByProductId(productId).isEmpty()) {
+                        throw new IllegalArgumentException("No inventory found for product ID: " + productId);
+                    }
+                    throw new IllegalStateException("Insufficient inventory for product ID: " + productId);
+                }
+                return repository.findQuantityByProductId(productId).orElse(0);
+            });
 
             return new PurchaseResponse(
                     product.getId(),
                     product.getName(),
                     quantity,
-                    inventory.getQuantity()
+                    remainingStock
             );
 
         } catch (HttpClientErrorException.NotFound e) {
             throw new IllegalArgumentException("Product with ID " + productId + " not found");
         }
     }
+
+    /**
+     * Reserves every line of an order or none of them. Lines are applied in
+     * ascending product ID order so concurrent orders lock rows in the same order.
+     */
+    public List<PurchaseLineResult> purchaseProducts(List<PurchaseLine> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("A purchase needs at least one line");
+        }
+
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (PurchaseLine line : lines) {
+            if (line.getProductId() == null || line.getQuantity() == null || line.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Every line needs a product ID and a quantity greater than zero");
+            }
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+
+        try {
+            List<PurchaseLineResult> results = reserveAll(lines, quantities);
+            purchaseCounters.succeeded();
+            return results;
+        } catch (BulkPurchaseException e) {
+            boolean insufficientStock = e.getResults().stream()
+                    .anyMatch(result -> result.getStatus() == PurchaseLineResult.Status.INSUFFICIENT_STOCK);
+            if (insufficientStock) {
+                purchaseCounters.insufficientStock();
+            } else {
+                purchaseCounters.notFound();
+            }
+            throw e;
+        }
+    }
+
+    private List<PurchaseLineResult> reserveAll(List<PurchaseLine> lines, Map<Long, Integer> quantities) {
+        Map<Long, Product> products = productClient.getProductsByIds(quantities.keySet());
+        Map<Long, PurchaseLineResult.Status> failures = new HashMap<>();
+        Map<Long, Integer> remaining = new HashMap<>();
+
+        quantities.keySet().stream()
+                .filter(productId -> !products.containsKey(productId))
+                .forEach(productId -> failures.put(productId, PurchaseLineResult.Status.PRODUCT_NOT_FOUND));
+
+        if (!failures.isEmpty()) {
+            throw new BulkPurchaseException(toLineResults(lines, products, failures, remaining));
+        }
+
+        if (hotStockLedger.isEnabled()) {
+            reserveInLedger(quantities, failures, remaining);
+            if (!failures.isEmpty()) {
+                throw new BulkPurchaseException(toLineResults(lines, products, failures, remaining));
+            }
+        } else {
+            transactionTemplate.executeWithoutResult(status -> {
+                reserveInDatabase(quantities, failures, remaining);
+                if (!failures.isEmpty()) {
+                    throw new BulkPurchaseException(toLineResults(lines, products, failures, remaining));
+                }
+            });
+        }
+
+        return toLineResults(lines, products, failures, remaining);
+    }
+
+    private void reserveInDatabase(Map<Long, Integer> quantities,
+                                   Map<Long, PurchaseLineResult.Status> failures,
+                                   Map<Long, Integer> remaining) {
+        quantities.forEach((productId, quantity) -> {
+            if (repository.decrementQuantity(productId, quantity) == 0) {
+                failures.put(productId, PurchaseLineResult.Status.INSUFFICIENT_STOCK);
+            }
+        });
+
+        Map<Long, Integer> stock = new HashMap<>();
+        repository.findAllByProductIdIn(quantities.keySet())
+                .forEach(inventory -> stock.put(inventory.getProductId(), inventory.getQuantity()));
+
+        for (Long productId : quantities.keySet()) {
+            if (!stock.containsKey(productId)) {
+                failures.put(productId, PurchaseLineResult.Status.NO_INVENTORY);
+            } else {
+                remaining.put(productId, stock.get(productId));
+            }
+        }
+    }
+
+    private void reserveInLedger(Map<Long, Integer> quantities,
+                                 Map<Long, PurchaseLineResult.Status> failures,
+                                 Map<Long, Integer> remaining) {
+        List<Long> reserved = new ArrayList<>();
+
+        quantities.forEach((productId, quantity) -> {
+            try {
+                remaining.put(productId, hotStockLedger.reserve(productId, quantity));
+                reserved.add(productId);
+            } catch (IllegalStateException e) {
+                failures.put(productId, PurchaseLineResult.Status.INSUFFICIENT_STOCK);
+                hotStockLedger.getQuantity(productId).ifPresent(stock -> remaining.put(productId, stock));
+            } catch (IllegalArgumentException e) {
+                failures.put(productId, PurchaseLineResult.Status.NO_INVENTORY);
+            }
+        });
+
+        if (!failures.isEmpty()) {
+            reserved.forEach(productId -> hotStockLedger.release(productId, quantities.get(productId)));
+        }
+    }
+
+    private List<PurchaseLineResult> toLineResults(List<PurchaseLine> lines,
+                                                   Map<Long, Product> products,
+                                                   Map<Long, PurchaseLineResult.Status> failures,
+                                                   Map<Long, Integer> remaining) {
+        boolean rejected = !failures.isEmpty();
+
+        return lines.stream()
+                .map(line -> {
+                    Long productId = line.getProductId();
+                    Product product = products.get(productId);
+                    PurchaseLineResult.Status status = failures.getOrDefault(productId,
+                            rejected ? PurchaseLineResult.Status.NOT_RESERVED : PurchaseLineResult.Status.RESERVED);
+                    Integer remainingStock = status == PurchaseLineResult.Status.RESERVED
+                            || status == PurchaseLineResult.Status.INSUFFICIENT_STOCK
+                            ? remaining.get(productId) : null;
+
+                    return new PurchaseLineResult(
+                            productId,
+                            product != null ? product.getName() : null,
+                            line.getQuantity(),
+                            remainingStock,
+                            status
+                    );
+                })
+                .toList();
+    }
 }
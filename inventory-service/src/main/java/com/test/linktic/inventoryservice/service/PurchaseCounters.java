@@ -0,0 +1,40 @@
+package com.test.linktic.inventoryservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The {@code inventory.purchases} counters, one per outcome. Every purchase path counts
+ * through this class, so synchronous, bulk and asynchronous purchases share one meter.
+ */
+public class PurchaseCounters {
+
+    private final Counter succeeded;
+    private final Counter insufficientStock;
+    private final Counter notFound;
+
+    public PurchaseCounters(MeterRegistry meterRegistry) {
+        this.succeeded = counter(meterRegistry, "success");
+        this.insufficientStock = counter(meterRegistry, "insufficient_stock");
+        this.notFound = counter(meterRegistry, "not_found");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("inventory.purchases")
+                .description("Purchases by outcome, single, bulk and asynchronous orders alike")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public void succeeded() {
+        succeeded.increment();
+    }
+
+    public void insufficientStock() {
+        insufficientStock.increment();
+    }
+
+    public void notFound() {
+        notFound.increment();
+    }
+}
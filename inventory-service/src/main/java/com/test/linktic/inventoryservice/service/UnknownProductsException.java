@@ -0,0 +1,20 @@
+package com.test.linktic.inventoryservice.service;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Thrown when a bulk inventory update names products that do not exist.
+ * Nothing is written in that case.
+ */
+@Getter
+public class UnknownProductsException extends RuntimeException {
+
+    private final List<Long> productIds;
+
+    public UnknownProductsException(List<Long> productIds) {
+        super("No product found for IDs: " + productIds);
+        this.productIds = productIds;
+    }
+}
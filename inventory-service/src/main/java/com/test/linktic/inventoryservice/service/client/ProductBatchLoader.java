@@ -0,0 +1,113 @@
+package com.test.linktic.inventoryservice.service.client;
+
+import com.test.linktic.inventoryservice.model.Product;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Coalesces single-product lookups issued by concurrent request threads into
+ * one batched call, flushed when the window elapses or the batch is full.
+ * A batch the scheduler refuses, for instance during shutdown, fails at once, and
+ * {@link #get(Long)} waits at most {@code timeout} for its batch.
+ */
+public class ProductBatchLoader {
+
+    private final Function<Set<Long>, Map<Long, Product>> batchFetcher;
+    private final ScheduledExecutorService scheduler;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long timeoutNanos;
+
+    private final Object lock = new Object();
+    private Map<Long, CompletableFuture<Product>> pending = new LinkedHashMap<>();
+
+    public ProductBatchLoader(Function<Set<Long>, Map<Long, Product>> batchFetcher,
+                              ScheduledExecutorService scheduler,
+                              Duration window,
+                              int maxBatchSize,
+                              Duration timeout) {
+        this.batchFetcher = batchFetcher;
+        this.scheduler = scheduler;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    public CompletableFuture<Product> load(Long productId) {
+        CompletableFuture<Product> future;
+        synchronized (lock) {
+            future = pending.get(productId);
+            if (future != null) {
+                return future;
+            }
+
+            future = new CompletableFuture<>();
+            pending.put(productId, future);
+
+            try {
+                if (pending.size() >= maxBatchSize) {
+                    scheduler.execute(this::flush);
+                } else if (pending.size() == 1) {
+                    scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+                }
+                return future;
+            } catch (RejectedExecutionException e) {
+                Map<Long, CompletableFuture<Product>> refused = pending;
+                pending = new LinkedHashMap<>();
+                ProductServiceUnavailableException failure =
+                        new ProductServiceUnavailableException("Product batch loader is not accepting lookups", e);
+                refused.values().forEach(waiting -> waiting.completeExceptionally(failure));
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Blocking variant of {@link #load(Long)} that rethrows the fetch failure as-is.
+     * A batch that does not complete within the timeout is reported as products-service
+     * being unavailable.
+     */
+    public Product get(Long productId) {
+        try {
+            return load(productId).get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ProductServiceUnavailableException("Products service is unavailable", e.getCause());
+        } catch (TimeoutException e) {
+            throw new ProductServiceUnavailableException("Timed out waiting for product " + productId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProductServiceUnavailableException("Interrupted waiting for product " + productId, e);
+        }
+    }
+
+    void flush() {
+        Map<Long, CompletableFuture<Product>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+
+        try {
+            Map<Long, Product> products = batchFetcher.apply(batch.keySet());
+            batch.forEach((productId, future) -> future.complete(products.get(productId)));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
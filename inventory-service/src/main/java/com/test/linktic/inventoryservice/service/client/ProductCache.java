@@ -0,0 +1,308 @@
+package com.test.linktic.inventoryservice.service.client;
+
+import com.test.linktic.inventoryservice.model.Product;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-process cache of products fetched from products-service.
+ * Missing products are cached for a shorter time, and expired entries are
+ * served while a background refresh runs. Lookups are counted as
+ * {@code product.cache.requests} by result, next to {@code product.cache.evictions}
+ * and the {@code product.cache.size} gauge.
+ */
+@Slf4j
+@Component
+public class ProductCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final long staleTtlMillis;
+    private final long negativeTtlMillis;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final Executor refreshExecutor;
+    private final ExecutorService ownedExecutor;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Long> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final Set<Long> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public ProductCache(@Value("${product.cache.enabled:true}") boolean enabled,
+                        @Value("${product.cache.ttl:30s}") Duration ttl,
+                        @Value("${product.cache.stale-ttl:5m}") Duration staleTtl,
+                        @Value("${product.cache.negative-ttl:5s}") Duration negativeTtl,
+                        @Value("${product.cache.max-entries:10000}") int maxEntries,
+                        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(enabled, ttl, staleTtl, negativeTtl, maxEntries, System::currentTimeMillis, virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("product-cache-refresh-", 0).factory())
+                : Executors.newFixedThreadPool(2, runnable -> {
+                    Thread thread = new Thread(runnable, "product-cache-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    ProductCache(boolean enabled, Duration ttl, Duration staleTtl, Duration negativeTtl, int maxEntries,
+                 LongSupplier clock, Executor refreshExecutor) {
+        this.enabled = enabled;
+        this.ttlMillis = ttl.toMillis();
+        this.staleTtlMillis = staleTtl.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
+        this.ownedExecutor = refreshExecutor instanceof ExecutorService executorService ? executorService : null;
+    }
+
+    /**
+     * Returns the cached product, loading it with {@code loader} on a miss.
+     * A {@code null} result from the loader means "not found" and is cached as such.
+     */
+    public Product get(Long productId, Function<Long, Product> loader) {
+        if (!enabled) {
+            return loader.apply(productId);
+        }
+
+        long now = clock.getAsLong();
+        Entry entry = entries.get(productId);
+
+        if (entry != null && now < entry.expiresAt()) {
+            hits.increment();
+            return entry.product();
+        }
+
+        if (entry != null && entry.product() != null && now < entry.expiresAt() + staleTtlMillis) {
+            staleHits.increment();
+            refreshAsync(productId, loader);
+            return entry.product();
+        }
+
+        misses.increment();
+        Product product = loader.apply(productId);
+        put(productId, product);
+        return product;
+    }
+
+    /**
+     * Batch variant of {@link #get(Long, Function)}: all misses are loaded with a
+     * single {@code loader} call. Products that do not exist are left out of the result.
+     */
+    public Map<Long, Product> getAll(Collection<Long> productIds,
+                                     Function<Collection<Long>, Map<Long, Product>> loader) {
+        if (!enabled) {
+            return loader.apply(productIds);
+        }
+
+        long now = clock.getAsLong();
+        Map<Long, Product> result = new LinkedHashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+
+        for (Long productId : productIds) {
+            Entry entry = entries.get(productId);
+
+            if (entry != null && now < entry.expiresAt()) {
+                hits.increment();
+                if (entry.product() != null) {
+                    result.put(productId, entry.product());
+                }
+            } else if (entry != null && entry.product() != null && now < entry.expiresAt() + staleTtlMillis) {
+                staleHits.increment();
+                refreshAsync(productId, id -> loader.apply(List.of(id)).get(id));
+                result.put(productId, entry.product());
+            } else {
+                misses.increment();
+                missing.add(productId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Long, Product> loaded = loader.apply(missing);
+            for (Long productId : missing) {
+                Product product = loaded.get(productId);
+                put(productId, product);
+                if (product != null) {
+                    result.put(productId, product);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Non-loading lookup for callers that fetch misses on their own.
+     * Only fresh entries count as a hit; a hit may carry a {@code null} product for a cached 404.
+     */
+    public Lookup lookup(Long productId) {
+        if (!enabled) {
+            return Lookup.MISS;
+        }
+
+        Entry entry = entries.get(productId);
+        if (entry != null && clock.getAsLong() < entry.expiresAt()) {
+            hits.increment();
+            return new Lookup(true, entry.product());
+        }
+
+        misses.increment();
+        return Lookup.MISS;
+    }
+
+    /**
+     * Returns the last product fetched for {@code productId}, however old, or {@code null}
+     * when none is held. Used as a fallback while products-service is unavailable.
+     */
+    public Product getLastKnown(Long productId) {
+        if (!enabled) {
+            return null;
+        }
+
+        Entry entry = entries.get(productId);
+        return entry != null ? entry.product() : null;
+    }
+
+    public void put(Long productId, Product product) {
+        put(productId, product, null);
+    }
+
+    /**
+     * Stores the product with the ETag products-service sent for it. Without a new ETag
+     * the previous one is kept as long as the product is unchanged, since it still matches.
+     */
+    public void put(Long productId, Product product, String eTag) {
+        if (!enabled) {
+            return;
+        }
+
+        long expiresAt = clock.getAsLong() + (product != null ? ttlMillis : negativeTtlMillis);
+        boolean[] inserted = new boolean[1];
+
+        entries.compute(productId, (id, previous) -> {
+            inserted[0] = previous == null;
+            String keptETag = eTag == null && previous != null && Objects.equals(previous.product(), product)
+                    ? previous.eTag()
+                    : eTag;
+            return new Entry(product, keptETag, expiresAt);
+        });
+
+        if (inserted[0]) {
+            insertionOrder.offer(productId);
+            evictOverflow();
+        }
+    }
+
+    /**
+     * Returns the ETag of the held product, however old, or {@code null} when there is none.
+     */
+    public String getETag(Long productId) {
+        if (!enabled) {
+            return null;
+        }
+
+        Entry entry = entries.get(productId);
+        return entry != null ? entry.eTag() : null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        requestCounter(registry, "hit", hits);
+        requestCounter(registry, "stale_hit", staleHits);
+        requestCounter(registry, "miss", misses);
+        FunctionCounter.builder("product.cache.evictions", evictions, LongAdder::sum)
+                .description("Products evicted to stay within product.cache.max-entries")
+                .register(registry);
+        Gauge.builder("product.cache.size", entries, Map::size)
+                .description("Products currently held, including cached 404s")
+                .register(registry);
+    }
+
+    private static void requestCounter(MeterRegistry registry, String result, LongAdder count) {
+        FunctionCounter.builder("product.cache.requests", count, LongAdder::sum)
+                .description("Product cache lookups by result")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdownNow();
+        }
+    }
+
+    private void refreshAsync(Long productId, Function<Long, Product> loader) {
+        if (!refreshing.add(productId)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    put(productId, loader.apply(productId));
+                } catch (RuntimeException e) {
+                    log.debug("Background refresh of product {} failed, keeping stale entry", productId, e);
+                } finally {
+                    refreshing.remove(productId);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.remove(productId);
+            log.debug("Could not schedule refresh of product {}", productId, e);
+        }
+    }
+
+    private void evictOverflow() {
+        while (entries.size() > maxEntries) {
+            Long eldest = insertionOrder.poll();
+            if (eldest == null) {
+                return;
+            }
+            if (entries.remove(eldest) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    public record Lookup(boolean hit, Product product) {
+        static final Lookup MISS = new Lookup(false, null);
+    }
+
+    private record Entry(Product product, String eTag, long expiresAt) {
+    }
+}
@@ -1,51 +1,288 @@
 package com.test.linktic.inventoryservice.service.client;
 
 import com.test.linktic.inventoryservice.model.Product;
+import com.test.linktic.inventoryservice.model.dto.ProductListResponse;
 import com.test.linktic.inventoryservice.model.dto.ProductResponse;
+import com.test.linktic.inventoryservice.service.replica.ProductReplicaStore;
+import io.micrometer.context.ContextScheduledExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
+
 @Service
 public class ProductClient {
 
     private final RestTemplate restTemplate;
     private final String productServiceUrl;
     private final String apiKey;
+    private final List<MediaType> accept;
+    private final ProductCache productCache;
+    private final ProductReplicaStore replicaStore;
+    private final ProductServiceGuard guard;
+    private final MeterRegistry meterRegistry;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService batchScheduler;
+    private final ProductBatchLoader batchLoader;
 
     public ProductClient(RestTemplate restTemplate,
                          @Value("${product.service.url}") String productServiceUrl,
-                         @Value("${product.service.api-key}") String apiKey) {
+                         @Value("${product.service.api-key}") String apiKey,
+                         @Value("${product.client.format:cbor}") String format,
+                         ProductCache productCache,
+                         ProductReplicaStore replicaStore,
+                         ProductServiceGuard guard,
+                         MeterRegistry meterRegistry,
+                         @Value("${product.client.batch.enabled:true}") boolean batchEnabled,
+                         @Value("${product.client.batch.window:2ms}") Duration batchWindow,
+                         @Value("${product.client.batch.max-size:100}") int maxBatchSize,
+                         @Value("${product.client.batch.threads:4}") int batchThreads,
+                         @Value("${spring.rest.template.read-timeout:5s}") Duration readTimeout,
+                         @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
         this.restTemplate = restTemplate;
         this.productServiceUrl = productServiceUrl;
         this.apiKey = apiKey;
+        this.accept = acceptedMediaTypes(format);
+        this.productCache = productCache;
+        this.replicaStore = replicaStore;
+        this.guard = guard;
+        this.meterRegistry = meterRegistry;
+        this.maxBatchSize = maxBatchSize;
+
+        if (batchEnabled) {
+            this.batchScheduler = Executors.newScheduledThreadPool(batchThreads, virtualThreads
+                    ? Thread.ofVirtual().name("product-batch-loader-", 0).factory()
+                    : runnable -> {
+                        Thread thread = new Thread(runnable, "product-batch-loader");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            // A lookup waits for the window and then for the batch call itself.
+            this.batchLoader = new ProductBatchLoader(this::fetchProductsByIds,
+                    ContextScheduledExecutorService.wrap(batchScheduler, ContextSnapshotFactory.builder().build()),
+                    batchWindow, maxBatchSize, batchWindow.plus(readTimeout));
+        } else {
+            this.batchScheduler = null;
+            this.batchLoader = null;
+        }
     }
 
+    /**
+     * Returns the product, or {@code null} when it does not exist. While products-service is
+     * unavailable the last known copy is served; without one a
+     * {@link ProductServiceUnavailableException} is thrown.
+     * Each lookup is timed as {@code product.client.lookup}, tagged with its outcome.
+     */
+    @Observed(name = "product.client")
     public Product getProductById(Long productId) {
-        String url = productServiceUrl + "/" + productId;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("X-API-KEY", apiKey);
+        try {
+            Product product = productCache.get(productId, this::loadProduct);
+            outcome = product != null ? "found" : "not_found";
+            return product;
+        } catch (ProductServiceUnavailableException e) {
+            Product lastKnown = productCache.getLastKnown(productId);
+            if (lastKnown == null) {
+                outcome = "unavailable";
+                throw e;
+            }
+            outcome = "fallback";
+            return lastKnown;
+        } finally {
+            sample.stop(meterRegistry.timer("product.client.lookup", "outcome", outcome));
+        }
+    }
+
+    /**
+     * Looks up several products at once. Products that do not exist are absent from the returned map.
+     * Falls back to last known copies like {@link #getProductById(Long)}, but only when every product has one.
+     */
+    @Observed(name = "product.client")
+    public Map<Long, Product> getProductsByIds(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+
+        try {
+            return productCache.getAll(productIds, this::loadProducts);
+        } catch (ProductServiceUnavailableException e) {
+            Map<Long, Product> lastKnown = new HashMap<>();
+            for (Long productId : productIds) {
+                Product product = productCache.getLastKnown(productId);
+                if (product == null) {
+                    throw e;
+                }
+                lastKnown.put(productId, product);
+            }
+            return lastKnown;
+        }
+    }
+
+    /**
+     * With {@code cbor} products-service answers in CBOR; JSON stays acceptable so an
+     * instance without CBOR support still works.
+     */
+    private static List<MediaType> acceptedMediaTypes(String format) {
+        return switch (format) {
+            case "cbor" -> List.of(MediaType.APPLICATION_CBOR, MediaType.parseMediaType("application/json;q=0.9"));
+            case "json" -> List.of(MediaType.APPLICATION_JSON);
+            default -> throw new IllegalArgumentException(
+                    "Unsupported product.client.format: " + format + ", expected json or cbor");
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (batchScheduler != null) {
+            batchScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads the product from the local replica, asking products-service only for
+     * products that have not been replicated yet or whose copy is past its max age.
+     * A product already held in the cache is revalidated on its own with a conditional
+     * request instead of joining a batch, so an unchanged product costs a 304 without a body.
+     * While products-service is unavailable an outdated replica copy is served instead.
+     */
+    private Product loadProduct(Long productId) {
+        Product product = replicaStore.find(productId);
+        if (product != null) {
+            return product;
+        }
+
+        try {
+            Product cached = productCache.getLastKnown(productId);
+            if (cached != null) {
+                product = fetchProductById(productId, cached);
+            } else {
+                product = batchLoader != null ? batchLoader.get(productId) : fetchProductById(productId, null);
+            }
+        } catch (ProductServiceUnavailableException e) {
+            Product replicated = replicaStore.findLastKnown(productId);
+            if (replicated == null) {
+                throw e;
+            }
+            return replicated;
+        }
+
+        if (product != null) {
+            replicaStore.remember(List.of(product));
+        }
+        return product;
+    }
 
-        HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
+    private Map<Long, Product> loadProducts(Collection<Long> productIds) {
+        Map<Long, Product> products = replicaStore.findAll(productIds);
+        if (products.size() == productIds.size()) {
+            return products;
+        }
 
+        List<Long> missing = productIds.stream()
+                .filter(productId -> !products.containsKey(productId))
+                .toList();
+        Map<Long, Product> fetched;
         try {
-            ResponseEntity<ProductResponse> response = restTemplate.exchange(
-                    url,
+            fetched = fetchProductsByIds(missing);
+        } catch (ProductServiceUnavailableException e) {
+            Map<Long, Product> replicated = replicaStore.findAllLastKnown(missing);
+            if (replicated.size() < missing.size()) {
+                throw e;
+            }
+            products.putAll(replicated);
+            return products;
+        }
+        replicaStore.remember(fetched.values());
+        products.putAll(fetched);
+        return products;
+    }
+
+    private Product fetchProductById(Long productId, Product cached) {
+        String eTag = cached != null ? productCache.getETag(productId) : null;
+
+        return guard.call(() -> {
+            try {
+                HttpHeaders headers = authorizedHeaders();
+                if (eTag != null) {
+                    headers.setIfNoneMatch(eTag);
+                }
+
+                ResponseEntity<ProductResponse> response = restTemplate.exchange(
+                        productServiceUrl + "/{id}",
+                        HttpMethod.GET,
+                        new HttpEntity<>(headers),
+                        ProductResponse.class,
+                        productId
+                );
+
+                if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                    return cached;
+                }
+
+                Product product = response.getBody().getData().getAttributes();
+                productCache.put(productId, product, response.getHeaders().getETag());
+                return product;
+            } catch (HttpClientErrorException.NotFound e) {
+                return null;
+            }
+        });
+    }
+
+    private Map<Long, Product> fetchProductsByIds(Collection<Long> productIds) {
+        List<Long> ids = new ArrayList<>(productIds);
+        Map<Long, Product> products = new HashMap<>();
+
+        for (int from = 0; from < ids.size(); from += maxBatchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + maxBatchSize, ids.size()));
+            String chunkIds = chunk.stream().map(String::valueOf).collect(Collectors.joining(","));
+
+            ResponseEntity<ProductListResponse> response = guard.call(() -> restTemplate.exchange(
+                    productServiceUrl + "?ids={ids}",
                     HttpMethod.GET,
-                    requestEntity,
-                    ProductResponse.class
-            );
+                    authorizedRequest(),
+                    ProductListResponse.class,
+                    chunkIds
+            ));
 
-            ProductResponse.ProductData productData = response.getBody().getData();
-            return productData.getAttributes();
-        } catch (HttpClientErrorException.NotFound e) {
-            return null;
+            for (ProductResponse.ProductData productData : response.getBody().getData()) {
+                products.put(productData.getId(), productData.getAttributes());
+            }
         }
+
+        return products;
+    }
+
+    private HttpEntity<Void> authorizedRequest() {
+        return new HttpEntity<>(authorizedHeaders());
+    }
+
+    private HttpHeaders authorizedHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-API-KEY", apiKey);
+        headers.setAccept(accept);
+        return headers;
     }
 }
@@ -0,0 +1,84 @@
+package com.test.linktic.inventoryservice.service.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker, bulkhead and retry shared by every call to products-service.
+ * Each attempt first takes a bulkhead permit, then passes the circuit breaker;
+ * transient failures are retried with a randomized wait. When the circuit is open
+ * or the bulkhead is full the call fails immediately without touching the network.
+ * Settings live under {@code resilience4j.*.instances.productService}.
+ */
+@Component
+public class ProductServiceGuard {
+
+    static final String INSTANCE = "productService";
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Retry retry;
+    private final TransientProductServiceFailure transientFailure = new TransientProductServiceFailure();
+
+    public ProductServiceGuard(CircuitBreakerRegistry circuitBreakerRegistry,
+                               BulkheadRegistry bulkheadRegistry,
+                               RetryRegistry retryRegistry) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(INSTANCE);
+        this.retry = retryRegistry.retry(INSTANCE);
+    }
+
+    /**
+     * Runs a blocking call. Transient failures and rejections surface as
+     * {@link ProductServiceUnavailableException}; other exceptions pass through unchanged.
+     */
+    public <T> T call(Supplier<T> call) {
+        Supplier<T> guarded = Retry.decorateSupplier(retry,
+                CircuitBreaker.decorateSupplier(circuitBreaker,
+                        Bulkhead.decorateSupplier(bulkhead, call)));
+
+        try {
+            return guarded.get();
+        } catch (RuntimeException e) {
+            if (isUnavailable(e)) {
+                throw new ProductServiceUnavailableException("Products service is unavailable", e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reactive variant of {@link #call(Supplier)}.
+     */
+    public <T> Mono<T> call(Mono<T> call) {
+        return call
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(RetryOperator.of(retry))
+                .onErrorMap(this::isUnavailable,
+                        e -> new ProductServiceUnavailableException("Products service is unavailable", e));
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    private boolean isUnavailable(Throwable throwable) {
+        return throwable instanceof CallNotPermittedException
+                || throwable instanceof BulkheadFullException
+                || transientFailure.test(throwable);
+    }
+}
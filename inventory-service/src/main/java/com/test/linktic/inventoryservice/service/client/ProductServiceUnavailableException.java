@@ -0,0 +1,12 @@
+package com.test.linktic.inventoryservice.service.client;
+
+/**
+ * Thrown when products-service cannot be reached, either because the call failed
+ * or because the circuit breaker or bulkhead rejected it without trying.
+ */
+public class ProductServiceUnavailableException extends RuntimeException {
+
+    public ProductServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,74 @@
+package com.test.linktic.inventoryservice.service.client;
+
+import com.test.linktic.inventoryservice.model.Product;
+import com.test.linktic.inventoryservice.model.dto.ProductResponse;
+import com.test.linktic.inventoryservice.service.replica.ProductReplicaStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link ProductClient}, sharing its {@link ProductCache}.
+ */
+@Service
+public class ReactiveProductClient {
+
+    private final WebClient webClient;
+    private final ProductCache productCache;
+    private final ProductReplicaStore replicaStore;
+    private final ProductServiceGuard guard;
+
+    public ReactiveProductClient(@Qualifier("productWebClient") WebClient webClient,
+                                 ProductCache productCache,
+                                 ProductReplicaStore replicaStore,
+                                 ProductServiceGuard guard) {
+        this.webClient = webClient;
+        this.productCache = productCache;
+        this.replicaStore = replicaStore;
+        this.guard = guard;
+    }
+
+    /**
+     * Emits the product, or completes empty when products-service answers 404.
+     * With product replication enabled the local replica is read first.
+     * Serves the last known copy while products-service is unavailable.
+     */
+    public Mono<Product> getProductById(Long productId) {
+        ProductCache.Lookup cached = productCache.lookup(productId);
+        if (cached.hit()) {
+            return Mono.justOrEmpty(cached.product());
+        }
+
+        Mono<Product> fetch = webClient.get()
+                .uri("/{id}", productId)
+                .retrieve()
+                .bodyToMono(ProductResponse.class)
+                .map(response -> response.getData().getAttributes());
+
+        Mono<Product> remote = guard.call(fetch)
+                .doOnNext(product -> productCache.put(productId, product))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+                    productCache.put(productId, null);
+                    return Mono.empty();
+                })
+                .onErrorResume(ProductServiceUnavailableException.class, e -> {
+                    Product lastKnown = productCache.getLastKnown(productId);
+                    return lastKnown != null ? Mono.just(lastKnown) : Mono.error(e);
+                });
+
+        if (!replicaStore.isEnabled()) {
+            return remote;
+        }
+
+        return Mono.fromCallable(() -> replicaStore.find(productId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(product -> productCache.put(productId, product))
+                .switchIfEmpty(remote.publishOn(Schedulers.boundedElastic())
+                        .doOnNext(product -> replicaStore.remember(List.of(product))));
+    }
+}
@@ -0,0 +1,24 @@
+package com.test.linktic.inventoryservice.service.client;
+
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.function.Predicate;
+
+/**
+ * Matches failures that say products-service is down or overloaded: I/O errors,
+ * timeouts and 5xx answers. Client errors such as 404 or 401 do not match, so they
+ * neither open the circuit breaker nor get retried.
+ */
+public class TransientProductServiceFailure implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable throwable) {
+        return throwable instanceof ResourceAccessException
+                || throwable instanceof HttpServerErrorException
+                || throwable instanceof WebClientRequestException
+                || throwable instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError();
+    }
+}
@@ -0,0 +1,431 @@
+package com.test.linktic.inventoryservice.service.purchase;
+
+import com.test.linktic.inventoryservice.model.Product;
+import com.test.linktic.inventoryservice.model.PurchaseRequest;
+import com.test.linktic.inventoryservice.repository.InventoryRepository;
+import com.test.linktic.inventoryservice.repository.PurchaseRequestRepository;
+import com.test.linktic.inventoryservice.service.PurchaseCounters;
+import com.test.linktic.inventoryservice.service.client.ProductClient;
+import com.test.linktic.inventoryservice.service.client.ProductServiceUnavailableException;
+import com.test.linktic.inventoryservice.service.stock.HotStockLedger;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Accepts purchases under a client idempotency key and applies them in the background
+ * ("async purchase" mode). A request is stored as {@link PurchaseRequest.Status#PENDING}
+ * before it is queued, and a single worker drains the queue in batches: products for the
+ * batch are fetched with one lookup, and requests for the same product are taken from
+ * stock with one decrement when there is enough for all of them. The stock change and
+ * the final statuses commit in one transaction, so a request is applied at most once;
+ * retries with the same key return the stored request without touching stock.
+ * Requests still pending at shutdown are picked up again on the next start.
+ * A batch that keeps failing is retried one request at a time after
+ * {@code max-attempts}, and a request that still fails alone is marked
+ * {@link PurchaseRequest.Status#FAILED}, so one bad request cannot hold up the queue.
+ * Outages of products-service are waited out instead, since no request could pass.
+ */
+@Slf4j
+@Component
+public class AsyncPurchasePipeline {
+
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(5);
+
+    private final PurchaseRequestRepository requests;
+    private final InventoryRepository inventories;
+    private final ProductClient productClient;
+    private final HotStockLedger hotStockLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final Duration retention;
+    private final Duration retryDelay;
+    private final int maxAttempts;
+    private final BlockingQueue<Long> queue;
+    private final PurchaseCounters purchaseCounters;
+
+    private Thread worker;
+    private volatile boolean running;
+    private Instant nextPurge = Instant.EPOCH;
+
+    public AsyncPurchasePipeline(PurchaseRequestRepository requests,
+                                 InventoryRepository inventories,
+                                 ProductClient productClient,
+                                 HotStockLedger hotStockLedger,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${inventory.async-purchase.enabled:false}") boolean enabled,
+                                 @Value("${inventory.async-purchase.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${inventory.async-purchase.batch-size:100}") int batchSize,
+                                 @Value("${inventory.async-purchase.retention:24h}") Duration retention,
+                                 @Value("${inventory.async-purchase.retry-delay:1s}") Duration retryDelay,
+                                 @Value("${inventory.async-purchase.max-attempts:5}") int maxAttempts) {
+        this.requests = requests;
+        this.inventories = inventories;
+        this.productClient = productClient;
+        this.hotStockLedger = hotStockLedger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.retryDelay = retryDelay;
+        this.maxAttempts = maxAttempts;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.purchaseCounters = new PurchaseCounters(meterRegistry);
+
+        Gauge.builder("inventory.purchase.queue.size", queue, Collection::size)
+                .description("Asynchronous purchases accepted but not applied yet")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+
+        // Read before the web server accepts requests, so nothing is both recovered and queued.
+        List<Long> recovered = requests.findByStatusOrderByIdAsc(PurchaseRequest.Status.PENDING).stream()
+                .map(PurchaseRequest::getId)
+                .toList();
+        if (!recovered.isEmpty()) {
+            log.info("Resuming {} pending purchases", recovered.size());
+        }
+
+        running = true;
+        worker = new Thread(() -> run(recovered), "purchase-pipeline");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (!enabled) {
+            return;
+        }
+
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stores a purchase under {@code idempotencyKey} and queues it. When the key is already
+     * known the stored request is returned as it is, pending or finished, except that a
+     * request rejected by a full queue is queued again.
+     *
+     * @throws IllegalArgumentException      when the key, product or quantity is invalid
+     * @throws IdempotencyKeyReusedException when the key belongs to a different purchase
+     * @throws PurchaseQueueFullException    when the queue has no room; the request is
+     *                                       stored as {@link PurchaseRequest.Status#REJECTED}
+     */
+    public PurchaseRequest submit(String idempotencyKey, Long productId, int quantity) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()
+                || idempotencyKey.length() > PurchaseRequest.MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException("An idempotency key of at most "
+                    + PurchaseRequest.MAX_IDEMPOTENCY_KEY_LENGTH + " characters is required");
+        }
+        if (productId == null) {
+            throw new IllegalArgumentException("Product ID is required");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than zero");
+        }
+
+        Optional<PurchaseRequest> existing = requests.findByIdempotencyKey(idempotencyKey);
+        if (existing.isPresent()) {
+            return requeueIfRejected(sameRequest(existing.get(), productId, quantity));
+        }
+
+        Instant now = Instant.now();
+        PurchaseRequest request = PurchaseRequest.builder()
+                .idempotencyKey(idempotencyKey)
+                .productId(productId)
+                .quantity(quantity)
+                .status(PurchaseRequest.Status.PENDING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        try {
+            request = requests.saveAndFlush(request);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent retry inserted the key first.
+            return requeueIfRejected(sameRequest(
+                    requests.findByIdempotencyKey(idempotencyKey).orElseThrow(() -> e), productId, quantity));
+        }
+
+        enqueue(request);
+        return request;
+    }
+
+    /**
+     * Queues a pending request. When the queue is full the row is kept and marked rejected
+     * rather than deleted, since a concurrent retry may already have been answered with it.
+     */
+    private void enqueue(PurchaseRequest request) {
+        if (!queue.offer(request.getId())) {
+            requests.transition(request.getId(), PurchaseRequest.Status.PENDING, PurchaseRequest.Status.REJECTED,
+                    Instant.now());
+            throw new PurchaseQueueFullException(queueCapacity);
+        }
+    }
+
+    private PurchaseRequest requeueIfRejected(PurchaseRequest request) {
+        if (request.getStatus() != PurchaseRequest.Status.REJECTED) {
+            return request;
+        }
+
+        Instant now = Instant.now();
+        if (requests.transition(request.getId(), PurchaseRequest.Status.REJECTED, PurchaseRequest.Status.PENDING,
+                now) == 1) {
+            request.setStatus(PurchaseRequest.Status.PENDING);
+            request.setUpdatedAt(now);
+            enqueue(request);
+            return request;
+        }
+        // Another retry requeued it first.
+        return requests.findById(request.getId()).orElse(request);
+    }
+
+    public Optional<PurchaseRequest> find(Long id) {
+        return requests.findById(id);
+    }
+
+    private static PurchaseRequest sameRequest(PurchaseRequest stored, Long productId, int quantity) {
+        if (!stored.getProductId().equals(productId) || stored.getQuantity() != quantity) {
+            throw new IdempotencyKeyReusedException(stored.getIdempotencyKey());
+        }
+        return stored;
+    }
+
+    private void run(List<Long> recovered) {
+        try {
+            for (int from = 0; from < recovered.size(); from += batchSize) {
+                processUntilDone(recovered.subList(from, Math.min(from + batchSize, recovered.size())));
+            }
+
+            List<Long> batch = new ArrayList<>(batchSize);
+            while (running) {
+                Long first = queue.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    processUntilDone(batch);
+                    batch.clear();
+                }
+                purgeIfDue();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Retries a batch until it commits. The requests stay pending meanwhile, so a batch
+     * that is still failing at shutdown is recovered on the next start. After
+     * {@code maxAttempts} failures other than products-service being unavailable, the
+     * requests are retried one by one and a single request that still fails is marked failed.
+     */
+    private void processUntilDone(List<Long> ids) throws InterruptedException {
+        int attempts = 0;
+
+        while (running) {
+            try {
+                process(ids);
+                return;
+            } catch (ProductServiceUnavailableException e) {
+                log.warn("Products service unavailable for {} purchases, retrying in {}", ids.size(), retryDelay);
+            } catch (RuntimeException e) {
+                if (++attempts >= maxAttempts) {
+                    if (ids.size() == 1) {
+                        log.error("Purchase request {} failed {} times, marking it failed", ids.get(0), attempts, e);
+                        requests.transition(ids.get(0), PurchaseRequest.Status.PENDING, PurchaseRequest.Status.FAILED,
+                                Instant.now());
+                        return;
+                    }
+                    log.warn("Applying {} purchases failed {} times, applying them one by one", ids.size(), attempts, e);
+                    for (Long id : ids) {
+                        processUntilDone(List.of(id));
+                    }
+                    return;
+                }
+                log.warn("Applying {} purchases failed, retrying in {}", ids.size(), retryDelay, e);
+            }
+            Thread.sleep(retryDelay.toMillis());
+        }
+    }
+
+    private void process(List<Long> ids) {
+        Map<Long, List<PurchaseRequest>> byProduct = new TreeMap<>();
+        requests.findAllById(ids).stream()
+                .filter(PurchaseRequest::isPending)
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .forEach(request -> byProduct.computeIfAbsent(request.getProductId(), key -> new ArrayList<>()).add(request));
+        if (byProduct.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Product> products = productClient.getProductsByIds(byProduct.keySet());
+        Map<Long, Outcome> outcomes = new HashMap<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<Long> pending = requests.findByIdInAndStatus(ids, PurchaseRequest.Status.PENDING).stream()
+                    .map(PurchaseRequest::getId)
+                    .collect(Collectors.toSet());
+
+            byProduct.forEach((productId, requestsOfProduct) -> {
+                List<PurchaseRequest> group = requestsOfProduct.stream()
+                        .filter(request -> pending.contains(request.getId()))
+                        .toList();
+                if (group.isEmpty()) {
+                    return;
+                }
+                if (!products.containsKey(productId)) {
+                    group.forEach(request -> outcomes.put(request.getId(),
+                            new Outcome(PurchaseRequest.Status.PRODUCT_NOT_FOUND, null)));
+                } else if (hotStockLedger.isEnabled()) {
+                    reserveInLedger(productId, group, outcomes);
+                } else {
+                    reserveInDatabase(productId, group, outcomes);
+                }
+            });
+
+            // Loaded after the decrements, which clear the persistence context.
+            Instant now = Instant.now();
+            for (PurchaseRequest request : requests.findAllById(outcomes.keySet())) {
+                Outcome outcome = outcomes.get(request.getId());
+                Product product = products.get(request.getProductId());
+                request.setStatus(outcome.status());
+                request.setRemainingStock(outcome.remainingStock());
+                request.setProductName(product != null ? product.getName() : null);
+                request.setUpdatedAt(now);
+            }
+        });
+
+        outcomes.values().forEach(outcome -> {
+            switch (outcome.status()) {
+                case COMPLETED -> purchaseCounters.succeeded();
+                case INSUFFICIENT_STOCK -> purchaseCounters.insufficientStock();
+                default -> purchaseCounters.notFound();
+            }
+        });
+    }
+
+    /**
+     * Takes the whole group with one decrement when the stock covers it; otherwise applies
+     * the requests one by one in arrival order, so earlier requests are served first.
+     */
+    private void reserveInDatabase(Long productId, List<PurchaseRequest> group, Map<Long, Outcome> outcomes) {
+        int total = group.stream().mapToInt(PurchaseRequest::getQuantity).sum();
+
+        if (inventories.decrementQuantity(productId, total) == 1) {
+            int remaining = inventories.findQuantityByProductId(productId).orElse(0) + total;
+            for (PurchaseRequest request : group) {
+                remaining -= request.getQuantity();
+                outcomes.put(request.getId(), new Outcome(PurchaseRequest.Status.COMPLETED, remaining));
+            }
+            return;
+        }
+
+        for (PurchaseRequest request : group) {
+            boolean reserved = inventories.decrementQuantity(productId, request.getQuantity()) == 1;
+            Optional<Integer> stock = inventories.findQuantityByProductId(productId);
+            if (stock.isEmpty()) {
+                outcomes.put(request.getId(), new Outcome(PurchaseRequest.Status.NO_INVENTORY, null));
+            } else {
+                outcomes.put(request.getId(), new Outcome(
+                        reserved ? PurchaseRequest.Status.COMPLETED : PurchaseRequest.Status.INSUFFICIENT_STOCK,
+                        stock.get()));
+            }
+        }
+    }
+
+    /**
+     * The ledger is not part of the database transaction, so its reservations are given
+     * back if the statuses fail to commit.
+     */
+    private void reserveInLedger(Long productId, List<PurchaseRequest> group, Map<Long, Outcome> outcomes) {
+        int reserved = 0;
+
+        for (PurchaseRequest request : group) {
+            try {
+                int remaining = hotStockLedger.reserve(productId, request.getQuantity());
+                reserved += request.getQuantity();
+                outcomes.put(request.getId(), new Outcome(PurchaseRequest.Status.COMPLETED, remaining));
+            } catch (IllegalStateException e) {
+                outcomes.put(request.getId(), new Outcome(PurchaseRequest.Status.INSUFFICIENT_STOCK,
+                        hotStockLedger.getQuantity(productId).orElse(null)));
+            } catch (IllegalArgumentException e) {
+                outcomes.put(request.getId(), new Outcome(PurchaseRequest.Status.NO_INVENTORY, null));
+            }
+        }
+
+        if (reserved > 0) {
+            int taken = reserved;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        hotStockLedger.release(productId, taken);
+                    }
+                }
+            });
+        }
+    }
+
+    private void purgeIfDue() {
+        Instant now = Instant.now();
+        if (now.isBefore(nextPurge)) {
+            return;
+        }
+        nextPurge = now.plus(PURGE_INTERVAL);
+
+        try {
+            int purged = requests.deleteFinishedBefore(now.minus(retention));
+            if (purged > 0) {
+                log.debug("Purged {} finished purchase requests", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Purging finished purchase requests failed", e);
+        }
+    }
+
+    private record Outcome(PurchaseRequest.Status status, Integer remainingStock) {
+    }
+}
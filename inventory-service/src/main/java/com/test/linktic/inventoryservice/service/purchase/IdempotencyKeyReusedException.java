@@ -0,0 +1,12 @@
+package com.test.linktic.inventoryservice.service.purchase;
+
+/**
+ * Thrown when an idempotency key is sent again with a different product or quantity.
+ * The purchase stored under the key is left untouched.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super("Idempotency key " + idempotencyKey + " was already used for a different purchase");
+    }
+}
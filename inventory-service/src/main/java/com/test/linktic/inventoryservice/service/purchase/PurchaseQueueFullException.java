@@ -0,0 +1,12 @@
+package com.test.linktic.inventoryservice.service.purchase;
+
+/**
+ * Thrown when the asynchronous purchase queue is full. The request is kept as rejected,
+ * and a later retry with the same idempotency key queues it again.
+ */
+public class PurchaseQueueFullException extends RuntimeException {
+
+    public PurchaseQueueFullException(int capacity) {
+        super("The purchase queue is full (" + capacity + " pending purchases)");
+    }
+}
@@ -0,0 +1,33 @@
+package com.test.linktic.inventoryservice.service.replica;
+
+import com.test.linktic.inventoryservice.model.dto.ProductChangedEvent;
+import com.test.linktic.inventoryservice.service.client.ProductCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jms.annotation.JmsListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes the product change events published by products-service. Every inventory-service
+ * instance has its own non-durable subscription, so each instance receives every event and
+ * refreshes its in-memory {@link ProductCache} along with the replica. Events sent while an
+ * instance was down are not redelivered; {@link ProductReplicaStore} refetches rows past
+ * their max age instead.
+ */
+@Component
+@ConditionalOnProperty(name = "product.replication.enabled", havingValue = "true")
+public class ProductReplicaListener {
+
+    private final ProductReplicaStore replicaStore;
+    private final ProductCache productCache;
+
+    public ProductReplicaListener(ProductReplicaStore replicaStore, ProductCache productCache) {
+        this.replicaStore = replicaStore;
+        this.productCache = productCache;
+    }
+
+    @JmsListener(destination = "${product.replication.topic:product.changed}",
+            containerFactory = "productReplicaListenerFactory")
+    public void onProductChanged(ProductChangedEvent event) {
+        productCache.put(event.getId(), replicaStore.apply(event));
+    }
+}
@@ -0,0 +1,131 @@
+package com.test.linktic.inventoryservice.service.replica;
+
+import com.test.linktic.inventoryservice.model.Product;
+import com.test.linktic.inventoryservice.model.ProductReplica;
+import com.test.linktic.inventoryservice.model.dto.ProductChangedEvent;
+import com.test.linktic.inventoryservice.repository.ProductReplicaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read replica of the products-service catalogue ("product replication" mode).
+ * Rows are written by {@link ProductReplicaListener} as product change events arrive,
+ * and read through by {@code ProductClient} for products created before the
+ * subscription existed. While disabled every lookup misses and nothing is stored.
+ * <p>
+ * Events can be lost: products-service does not retry a failed publish, and an instance
+ * misses the events sent while it was down. A row last synced more than
+ * {@code product.replication.max-age} ago therefore counts as a miss, so the product is
+ * fetched over HTTP again and the row refreshed. The stale copy is still available
+ * through {@link #findLastKnown(Long)} for when products-service is unavailable.
+ */
+@Component
+public class ProductReplicaStore {
+
+    private final ProductReplicaRepository repository;
+    private final boolean enabled;
+    private final Duration maxAge;
+
+    public ProductReplicaStore(ProductReplicaRepository repository,
+                               @Value("${product.replication.enabled:false}") boolean enabled,
+                               @Value("${product.replication.max-age:15m}") Duration maxAge) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the replicated product, or {@code null} when it has not been replicated
+     * yet or its copy is older than the max age.
+     */
+    public Product find(Long productId) {
+        if (!enabled) {
+            return null;
+        }
+        Instant staleBefore = staleBefore();
+        return repository.findById(productId)
+                .filter(replica -> isFresh(replica, staleBefore))
+                .map(ProductReplica::toProduct)
+                .orElse(null);
+    }
+
+    public Map<Long, Product> findAll(Collection<Long> productIds) {
+        Map<Long, Product> products = new HashMap<>();
+        if (enabled) {
+            Instant staleBefore = staleBefore();
+            repository.findAllById(productIds).stream()
+                    .filter(replica -> isFresh(replica, staleBefore))
+                    .forEach(replica -> products.put(replica.getId(), replica.toProduct()));
+        }
+        return products;
+    }
+
+    /**
+     * Returns the replicated product however old its copy is, or {@code null} when it
+     * has never been replicated.
+     */
+    public Product findLastKnown(Long productId) {
+        if (!enabled) {
+            return null;
+        }
+        return repository.findById(productId)
+                .map(ProductReplica::toProduct)
+                .orElse(null);
+    }
+
+    public Map<Long, Product> findAllLastKnown(Collection<Long> productIds) {
+        Map<Long, Product> products = new HashMap<>();
+        if (enabled) {
+            repository.findAllById(productIds)
+                    .forEach(replica -> products.put(replica.getId(), replica.toProduct()));
+        }
+        return products;
+    }
+
+    /**
+     * Applies a change event; the event always wins over the stored copy.
+     */
+    public Product apply(ProductChangedEvent event) {
+        repository.upsert(event.getId(), event.getName(), event.getPrice(), event.getDescription(), Instant.now());
+        return new Product(event.getId(), event.getName(), event.getPrice(), event.getDescription());
+    }
+
+    /**
+     * Stores products fetched over HTTP. Fills gaps and refreshes stale rows, but a row
+     * written by a change event within the max age is left alone, so an HTTP response
+     * that raced with the event never overwrites it.
+     */
+    public void remember(Collection<Product> products) {
+        if (!enabled || products.isEmpty()) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        Instant staleBefore = now.minus(maxAge);
+        for (Product product : products) {
+            if (repository.refreshIfStale(product.getId(), product.getName(), product.getPrice(),
+                    product.getDescription(), now, staleBefore) == 0) {
+                repository.insertIfAbsent(product.getId(), product.getName(), product.getPrice(),
+                        product.getDescription(), now);
+            }
+        }
+    }
+
+    private Instant staleBefore() {
+        return Instant.now().minus(maxAge);
+    }
+
+    private static boolean isFresh(ProductReplica replica, Instant staleBefore) {
+        return replica.getSyncedAt() != null && !replica.getSyncedAt().isBefore(staleBefore);
+    }
+}
@@ -0,0 +1,304 @@
+package com.test.linktic.inventoryservice.service.stock;
+
+import com.test.linktic.inventoryservice.model.Inventory;
+import com.test.linktic.inventoryservice.repository.InventoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory stock ledger for flash-sale traffic ("hot stock" mode).
+ * Each product has a slot holding its quantity and a version packed into one
+ * long, so a reservation is a single compare-and-set. Every change is written
+ * to a {@link StockJournal} before it is acknowledged, and dirty products are
+ * written back to {@link InventoryRepository} in batches by a background task.
+ */
+@Slf4j
+@Component
+public class HotStockLedger {
+
+    private final InventoryRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Path journalDirectory;
+    private final boolean fsync;
+    private final Duration flushInterval;
+    private final int flushBatchSize;
+
+    private final Map<Long, AtomicLong> slots = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    private StockJournal journal;
+    private ScheduledExecutorService flusher;
+
+    public HotStockLedger(InventoryRepository repository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${inventory.hot-stock.enabled:false}") boolean enabled,
+                          @Value("${inventory.hot-stock.journal-dir:data/stock-journal}") Path journalDirectory,
+                          @Value("${inventory.hot-stock.fsync:true}") boolean fsync,
+                          @Value("${inventory.hot-stock.flush-interval:200ms}") Duration flushInterval,
+                          @Value("${inventory.hot-stock.flush-batch-size:500}") int flushBatchSize) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.journalDirectory = journalDirectory;
+        this.fsync = fsync;
+        this.flushInterval = flushInterval;
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+
+        journal = new StockJournal(journalDirectory, fsync);
+        recover();
+        journal.open();
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hot-stock-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (!enabled) {
+            return;
+        }
+
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+        journal.close();
+    }
+
+    public Optional<Integer> getQuantity(Long productId) {
+        AtomicLong slot = slot(productId);
+        return slot == null ? Optional.empty() : Optional.of(quantity(slot.get()));
+    }
+
+    /**
+     * Atomically takes {@code quantity} units and returns the remaining stock.
+     */
+    public int reserve(Long productId, int quantity) {
+        AtomicLong slot = slot(productId);
+        if (slot == null) {
+            throw new IllegalArgumentException("No inventory found for product ID: " + productId);
+        }
+
+        while (true) {
+            long current = slot.get();
+            int available = quantity(current);
+            if (available < quantity) {
+                throw new IllegalStateException("Insufficient inventory for product ID: " + productId);
+            }
+
+            long next = pack(version(current) + 1, available - quantity);
+            if (slot.compareAndSet(current, next)) {
+                record(productId, slot, next, -quantity);
+                return available - quantity;
+            }
+        }
+    }
+
+    /**
+     * Gives back units taken by {@link #reserve(Long, int)}.
+     */
+    public int release(Long productId, int quantity) {
+        AtomicLong slot = slot(productId);
+        if (slot == null) {
+            throw new IllegalArgumentException("No inventory found for product ID: " + productId);
+        }
+
+        while (true) {
+            long current = slot.get();
+            long next = pack(version(current) + 1, quantity(current) + quantity);
+            if (slot.compareAndSet(current, next)) {
+                record(productId, slot, next, quantity);
+                return quantity(next);
+            }
+        }
+    }
+
+    /**
+     * Replaces the stock of a product that already has an inventory row.
+     */
+    public void set(Long productId, int quantity) {
+        AtomicLong slot = slot(productId);
+        if (slot == null) {
+            throw new IllegalArgumentException("No inventory found for product ID: " + productId);
+        }
+
+        while (true) {
+            long current = slot.get();
+            long next = pack(version(current) + 1, quantity);
+            if (slot.compareAndSet(current, next)) {
+                record(productId, slot, next, quantity - quantity(current));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Aligns a loaded slot with a quantity another path wrote straight to the database,
+     * such as an upsert that found the row created meanwhile. Products without a slot are
+     * left alone, since their next use reads the row.
+     */
+    public void refresh(Long productId, int quantity) {
+        if (enabled && slots.containsKey(productId)) {
+            set(productId, quantity);
+        }
+    }
+
+    /**
+     * Writes every dirty product back to the database and drops the journal
+     * segments that are now covered by the database.
+     */
+    public synchronized void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        long sealedSegment = journal.rotate();
+
+        // Removed one by one, so a product marked dirty again meanwhile stays dirty.
+        List<Long> productIds = new ArrayList<>();
+        for (Iterator<Long> iterator = dirty.iterator(); iterator.hasNext(); ) {
+            productIds.add(iterator.next());
+            iterator.remove();
+        }
+
+        Map<Long, Integer> snapshot = new HashMap<>();
+        for (Long productId : productIds) {
+            snapshot.put(productId, quantity(slots.get(productId).get()));
+        }
+
+        try {
+            persist(snapshot);
+            journal.truncate(sealedSegment);
+        } catch (RuntimeException e) {
+            dirty.addAll(productIds);
+            throw e;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Hot stock write-behind failed, will retry on next flush", e);
+        }
+    }
+
+    private void recover() {
+        Map<Long, StockJournal.Record> records = journal.replay();
+        if (records.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Integer> recovered = new HashMap<>();
+        records.forEach((productId, record) -> recovered.put(productId, record.quantity()));
+        persist(recovered);
+        journal.truncate(Long.MAX_VALUE);
+
+        log.info("Recovered stock for {} products from the hot stock journal", recovered.size());
+    }
+
+    private void persist(Map<Long, Integer> quantities) {
+        List<Long> productIds = new ArrayList<>(quantities.keySet());
+
+        for (int from = 0; from < productIds.size(); from += flushBatchSize) {
+            List<Long> batch = productIds.subList(from, Math.min(from + flushBatchSize, productIds.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Inventory> inventories = repository.findAllByProductIdIn(batch);
+                inventories.forEach(inventory -> inventory.setQuantity(quantities.get(inventory.getProductId())));
+                repository.saveAll(inventories);
+            });
+        }
+    }
+
+    private void record(Long productId, AtomicLong slot, long written, int delta) {
+        dirty.add(productId);
+        try {
+            journal.append(productId, version(written), quantity(written));
+        } catch (RuntimeException e) {
+            undo(slot, delta);
+            throw e;
+        }
+    }
+
+    private void undo(AtomicLong slot, int delta) {
+        while (true) {
+            long current = slot.get();
+            if (slot.compareAndSet(current, pack(version(current) + 1, quantity(current) - delta))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the slot of a product, loading it from the database on first use. The row is
+     * read outside the map so that no map lock is held during the query; when two threads
+     * load the same product, the first slot stored wins.
+     */
+    private AtomicLong slot(Long productId) {
+        AtomicLong slot = slots.get(productId);
+        if (slot != null) {
+            return slot;
+        }
+
+        Optional<Integer> quantity = repository.findQuantityByProductId(productId);
+        if (quantity.isEmpty()) {
+            return null;
+        }
+
+        AtomicLong loaded = new AtomicLong(pack(0, quantity.get()));
+        AtomicLong existing = slots.putIfAbsent(productId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private static long pack(int version, int quantity) {
+        return ((long) version << 32) | (quantity & 0xFFFFFFFFL);
+    }
+
+    private static int version(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    private static int quantity(long packed) {
+        return (int) packed;
+    }
+}
@@ -0,0 +1,295 @@
+package com.test.linktic.inventoryservice.service.stock;
+
+import com.test.linktic.inventoryservice.model.Inventory;
+import com.test.linktic.inventoryservice.repository.InventoryRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Group commit for stock writes ("group commit" mode). Quantity updates and purchase
+ * decrements issued by concurrent request threads are collected until the window
+ * elapses or the group is full, then applied by a single flusher thread in one
+ * transaction: the affected rows are loaded and locked with one query, every mutation
+ * is applied in arrival order, and the changed rows go out as batched JDBC statements
+ * at commit. Each caller gets the row as its own mutation left it, or its own error.
+ * While a group is being written the next one fills up, so the group size follows load.
+ */
+@Slf4j
+@Component
+public class InventoryGroupCommitter {
+
+    private final InventoryRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxGroupSize;
+    private final Duration timeout;
+    private final DistributionSummary groupSizes;
+
+    private final Object lock = new Object();
+    private List<Mutation> pending = new ArrayList<>();
+    private ScheduledExecutorService flusher;
+    private boolean stopped;
+
+    public InventoryGroupCommitter(InventoryRepository repository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${inventory.group-commit.enabled:false}") boolean enabled,
+                                   @Value("${inventory.group-commit.window:2ms}") Duration window,
+                                   @Value("${inventory.group-commit.max-size:100}") int maxGroupSize,
+                                   @Value("${inventory.group-commit.timeout:5s}") Duration timeout) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxGroupSize = maxGroupSize;
+        this.timeout = timeout;
+        this.groupSizes = DistributionSummary.builder("inventory.group.commit.size")
+                .description("Stock mutations written per group commit")
+                .baseUnit("mutations")
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue((double) maxGroupSize)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "inventory-group-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Windows still open at shutdown are covered by the final flush in stop().
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        flusher = executor;
+    }
+
+    @PreDestroy
+    void stop() {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (lock) {
+            stopped = true;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * Queues a stock overwrite, inserting the row when the product has none yet.
+     * Completes with the written row.
+     */
+    public CompletableFuture<Inventory> submitQuantity(Long productId, int quantity) {
+        return submit(new Mutation(Mutation.Kind.SET, productId, quantity, new CompletableFuture<>()));
+    }
+
+    /**
+     * Queues a purchase decrement. Completes with the row after the decrement, or fails with
+     * {@link IllegalArgumentException} when there is no inventory row and
+     * {@link IllegalStateException} when the stock left by earlier mutations is not enough.
+     */
+    public CompletableFuture<Inventory> submitDecrement(Long productId, int quantity) {
+        return submit(new Mutation(Mutation.Kind.DECREMENT, productId, quantity, new CompletableFuture<>()));
+    }
+
+    /**
+     * Blocking variant of {@link #submitQuantity(Long, int)}. Waits at most the configured
+     * timeout; see {@link #decrement(Long, int)}.
+     */
+    public Inventory setQuantity(Long productId, int quantity) {
+        return join(submitQuantity(productId, quantity));
+    }
+
+    /**
+     * Blocking variant of {@link #submitDecrement(Long, int)} that rethrows the failure as-is.
+     * Throws {@link QueryTimeoutException} when the group has not committed within the
+     * configured timeout; the mutation may still be applied afterwards.
+     */
+    public Inventory decrement(Long productId, int quantity) {
+        return join(submitDecrement(productId, quantity));
+    }
+
+    private Inventory join(CompletableFuture<Inventory> future) {
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("Stock group commit did not finish within " + timeout, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Interrupted waiting for stock group commit", e);
+        }
+    }
+
+    /**
+     * Queues a mutation. Once {@link #stop()} has begun nothing is queued any more, so every
+     * accepted mutation is covered by the final flush and a rejected one is never applied.
+     */
+    private CompletableFuture<Inventory> submit(Mutation mutation) {
+        synchronized (lock) {
+            if (stopped) {
+                throw new RejectedExecutionException("Stock group commit is shutting down");
+            }
+
+            pending.add(mutation);
+            try {
+                if (pending.size() >= maxGroupSize) {
+                    flusher.execute(this::flush);
+                } else if (pending.size() == 1) {
+                    flusher.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+                }
+            } catch (RejectedExecutionException e) {
+                pending.remove(pending.size() - 1);
+                throw e;
+            }
+            return mutation.future();
+        }
+    }
+
+    void flush() {
+        List<Mutation> group;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            group = pending;
+            pending = new ArrayList<>();
+        }
+
+        groupSizes.record(group.size());
+
+        try {
+            complete(group, transactionTemplate.execute(status -> apply(group)));
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                group.get(0).future().completeExceptionally(e);
+                return;
+            }
+            // Typically two first writes racing to insert the same row. Retried one by one,
+            // so the failure stays with the mutation that causes it.
+            log.debug("Group commit of {} stock mutations failed, applying them one by one", group.size(), e);
+            for (Mutation mutation : group) {
+                try {
+                    complete(List.of(mutation), transactionTemplate.execute(status -> apply(List.of(mutation))));
+                } catch (RuntimeException single) {
+                    mutation.future().completeExceptionally(single);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the mutations to the locked rows and returns the result of each, in order.
+     */
+    private List<Result> apply(List<Mutation> group) {
+        Map<Long, Inventory> rows = repository.lockAllByProductIdIn(
+                        group.stream().map(Mutation::productId).collect(Collectors.toCollection(TreeSet::new)))
+                .stream()
+                .collect(Collectors.toMap(Inventory::getProductId, Function.identity()));
+
+        List<Inventory> inserts = new ArrayList<>();
+        List<Result> results = new ArrayList<>(group.size());
+
+        for (Mutation mutation : group) {
+            Long productId = mutation.productId();
+            Inventory row = rows.get(productId);
+
+            if (mutation.kind() == Mutation.Kind.SET) {
+                if (row == null) {
+                    row = new Inventory(null, productId, mutation.quantity(), null);
+                    rows.put(productId, row);
+                    inserts.add(row);
+                } else {
+                    row.setQuantity(mutation.quantity());
+                }
+                results.add(new Result.Written(row, row.getQuantity()));
+            } else if (row == null) {
+                results.add(new Result.Failed(new IllegalArgumentException("No inventory found for product ID: " + productId)));
+            } else if (row.getQuantity() < mutation.quantity()) {
+                results.add(new Result.Failed(new IllegalStateException("Insufficient inventory for product ID: " + productId)));
+            } else {
+                row.setQuantity(row.getQuantity() - mutation.quantity());
+                results.add(new Result.Written(row, row.getQuantity()));
+            }
+        }
+
+        repository.saveAll(inserts);
+        return results;
+    }
+
+    /**
+     * Runs after commit, when inserted rows have their ids.
+     */
+    private static void complete(List<Mutation> group, List<Result> results) {
+        for (int i = 0; i < group.size(); i++) {
+            CompletableFuture<Inventory> future = group.get(i).future();
+            switch (results.get(i)) {
+                case Result.Written written -> future.complete(new Inventory(written.row().getId(),
+                        written.row().getProductId(), written.quantity(), null));
+                case Result.Failed failed -> future.completeExceptionally(failed.failure());
+            }
+        }
+    }
+
+    private record Mutation(Kind kind, Long productId, int quantity, CompletableFuture<Inventory> future) {
+
+        enum Kind {
+            SET,
+            DECREMENT
+        }
+    }
+
+    private sealed interface Result {
+
+        /**
+         * The row as this mutation left it; later mutations in the group may change the row again.
+         */
+        record Written(Inventory row, int quantity) implements Result {
+        }
+
+        record Failed(RuntimeException failure) implements Result {
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.test.linktic.inventoryservice.service.stock;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of stock changes made by {@link HotStockLedger}.
+ * Every record holds the absolute quantity of a product together with the
+ * slot version that produced it, so replay keeps the highest version per
+ * product regardless of the order in which concurrent writers appended.
+ * The log is split into numbered segments; sealed segments are deleted once
+ * their content has been written to the database.
+ * With {@code fsync}, appenders waiting for durability share disk syncs: one of
+ * them forces the channel while the others wait, and every record written before
+ * that force started is covered by it.
+ */
+class StockJournal implements AutoCloseable {
+
+    static final int RECORD_SIZE = Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private static final String PREFIX = "stock-";
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+    private final ReentrantLock lock = new ReentrantLock();
+    // Appenders park here while another one forces the channel. A ReentrantLock rather than
+    // a monitor, so virtual threads waiting for an fsync do not pin their carrier thread.
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition synced = syncLock.newCondition();
+
+    private FileChannel channel;
+    private long segment;
+    private long written;
+    private long durable;
+    private boolean syncing;
+
+    StockJournal(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Reads every existing segment and returns the latest record per product.
+     */
+    Map<Long, Record> replay() {
+        Map<Long, Record> latest = new HashMap<>();
+
+        for (Path file : segments()) {
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+                while (readRecord(in, record)) {
+                    Record read = new Record(record.getLong(), record.getInt(), record.getInt());
+                    latest.merge(read.productId(), read,
+                            (current, candidate) -> Integer.compareUnsigned(candidate.version(), current.version()) > 0
+                                    ? candidate : current);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not replay stock journal " + file, e);
+            }
+        }
+
+        return latest;
+    }
+
+    /**
+     * Opens a fresh segment after every existing one.
+     */
+    void open() {
+        lock.lock();
+        try {
+            Files.createDirectories(directory);
+            segment = segments().stream().mapToLong(StockJournal::segmentNumber).max().orElse(0);
+            openSegment(segment + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open stock journal in " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes a record and, with {@code fsync}, returns once it is on disk.
+     * An interrupt is held back until then: an interrupted {@link FileChannel} operation
+     * closes the channel for every appender, and a record already in the segment is
+     * replayed after a crash, so it must not be reported as failed. The interrupt status
+     * is restored on return.
+     */
+    void append(long productId, int version, int quantity) {
+        boolean interrupted = Thread.interrupted();
+        try {
+            long position;
+            lock.lock();
+            try {
+                buffer.clear();
+                buffer.putLong(productId).putInt(version).putInt(quantity).flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                written += RECORD_SIZE;
+                position = written;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append to stock journal", e);
+            } finally {
+                lock.unlock();
+            }
+
+            if (fsync) {
+                interrupted |= awaitDurable(position);
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Waits until everything up to {@code position} has been forced to disk, forcing
+     * the channel itself when no other appender is doing so. Interrupts do not cut the
+     * wait short; returns whether one arrived, with the interrupt status cleared.
+     */
+    private boolean awaitDurable(long position) {
+        syncLock.lock();
+        try {
+            while (durable < position) {
+                if (!syncing) {
+                    syncing = true;
+                    break;
+                }
+                synced.awaitUninterruptibly();
+            }
+            if (durable >= position) {
+                return Thread.interrupted();
+            }
+        } finally {
+            syncLock.unlock();
+        }
+
+        boolean interrupted = Thread.interrupted();
+        forceWritten();
+        return interrupted;
+    }
+
+    private void forceWritten() {
+        long target = 0;
+        try {
+            FileChannel current;
+            lock.lock();
+            try {
+                current = channel;
+                target = written;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                current.force(false);
+            } catch (ClosedChannelException e) {
+                // Rotated or closed meanwhile; both force the channel before closing it.
+            }
+        } catch (IOException e) {
+            target = 0;
+            throw new UncheckedIOException("Could not sync stock journal", e);
+        } finally {
+            markDurable(target);
+        }
+    }
+
+    private void markDurable(long position) {
+        syncLock.lock();
+        try {
+            durable = Math.max(durable, position);
+            syncing = false;
+            synced.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Seals the current segment and starts a new one.
+     * Returns the number of the last sealed segment.
+     */
+    long rotate() {
+        lock.lock();
+        try {
+            long sealed = segment;
+            channel.force(false);
+            channel.close();
+            advanceDurable(written);
+            openSegment(sealed + 1);
+            return sealed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rotate stock journal", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes every sealed segment up to and including {@code lastSegment}.
+     */
+    void truncate(long lastSegment) {
+        for (Path file : segments()) {
+            if (segmentNumber(file) <= lastSegment) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not delete stock journal segment " + file, e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (channel != null) {
+                channel.force(false);
+                channel.close();
+                advanceDurable(written);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close stock journal", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void advanceDurable(long position) {
+        syncLock.lock();
+        try {
+            durable = Math.max(durable, position);
+            synced.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void openSegment(long number) throws IOException {
+        segment = number;
+        channel = FileChannel.open(directory.resolve(PREFIX + number + SUFFIX),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static boolean readRecord(FileChannel in, ByteBuffer record) throws IOException {
+        record.clear();
+        while (record.hasRemaining()) {
+            if (in.read(record) < 0) {
+                return false;
+            }
+        }
+        record.flip();
+        return true;
+    }
+
+    private List<Path> segments() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>(files
+                    .filter(file -> file.getFileName().toString().startsWith(PREFIX))
+                    .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .toList());
+            segments.sort(Comparator.comparingLong(StockJournal::segmentNumber));
+            return segments;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list stock journal segments in " + directory, e);
+        }
+    }
+
+    private static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    record Record(long productId, int version, int quantity) {
+    }
+}
@@ -0,0 +1,16 @@
+create table inventory (
+    id         bigint generated by default as identity primary key,
+    product_id bigint not null,
+    quantity   integer,
+    constraint uk_inventory_product_id unique (product_id)
+);
+
+-- Low-stock listing: range over quantity, then walk ids in cursor order.
+create index idx_inventory_quantity_id on inventory (quantity, id);
+
+create table product_replica (
+    id          bigint primary key,
+    name        varchar(255),
+    price       double precision,
+    description varchar(255)
+);
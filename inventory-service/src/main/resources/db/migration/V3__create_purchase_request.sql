@@ -0,0 +1,17 @@
+create table purchase_request (
+    id              bigint primary key,
+    idempotency_key varchar(100) not null,
+    product_id      bigint not null,
+    quantity        integer not null,
+    status          varchar(20) not null,
+    product_name    varchar(255),
+    remaining_stock integer,
+    created_at      timestamp(6) with time zone not null,
+    updated_at      timestamp(6) with time zone not null,
+    constraint uk_purchase_request_idempotency_key unique (idempotency_key)
+);
+
+-- Startup recovery of pending requests and the retention purge.
+create index idx_purchase_request_status_updated_at on purchase_request (status, updated_at);
+
+create sequence purchase_request_seq start with 1 increment by 50;
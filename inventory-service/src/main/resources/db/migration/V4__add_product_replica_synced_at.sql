@@ -0,0 +1,2 @@
+-- Rows without a sync time count as stale and are refreshed on their next lookup.
+alter table product_replica add column synced_at timestamp(6) with time zone;
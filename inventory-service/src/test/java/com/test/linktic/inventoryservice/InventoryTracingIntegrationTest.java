@@ -0,0 +1,130 @@
+package com.test.linktic.inventoryservice;
+
+import com.sun.net.httpserver.HttpServer;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Follows one GET /api/inventory/{productId} from the incoming {@code traceparent}
+ * to the one sent to products-service, which is stubbed with a plain HTTP server.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Import(InventoryTracingIntegrationTest.InMemoryExporterConfig.class)
+class InventoryTracingIntegrationTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private static final List<String> forwardedTraceParents = new CopyOnWriteArrayList<>();
+    private static final HttpServer productsService = startProductsService();
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @DynamicPropertySource
+    static void productServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("product.service.url",
+                () -> "http://localhost:" + productsService.getAddress().getPort() + "/api/products");
+    }
+
+    @AfterAll
+    static void stopProductsService() {
+        productsService.stop(0);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Test
+    void testGetByProductId_PropagatesTraceToProductsServiceThroughEveryLayer() throws Exception {
+        mockMvc.perform(get("/api/inventory/1")
+                        .header("X-API-KEY", "SECRET321")
+                        .header("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01"))
+                .andExpect(status().isOk());
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> spans().keySet().containsAll(List.of(
+                "http get /api/inventory/{productId}", "inventory-service#get-by-product-id",
+                "product-client#get-product-by-id", "http get", "inventory-repository#find-by-product-id")));
+
+        Map<String, SpanData> spans = spans();
+        SpanData server = spans.get("http get /api/inventory/{productId}");
+        SpanData service = spans.get("inventory-service#get-by-product-id");
+        SpanData client = spans.get("product-client#get-product-by-id");
+        SpanData outbound = spans.get("http get");
+        SpanData repository = spans.get("inventory-repository#find-by-product-id");
+
+        assertEquals("00f067aa0ba902b7", server.getParentSpanId());
+        assertEquals(server.getSpanId(), service.getParentSpanId());
+        assertEquals(service.getSpanId(), client.getParentSpanId());
+        assertEquals(client.getSpanId(), outbound.getParentSpanId());
+        assertEquals(service.getSpanId(), repository.getParentSpanId());
+        assertEquals(List.of("00-" + TRACE_ID + "-" + outbound.getSpanId() + "-01"), forwardedTraceParents);
+    }
+
+    private Map<String, SpanData> spans() {
+        return spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getTraceId().equals(TRACE_ID))
+                .collect(Collectors.toMap(SpanData::getName, Function.identity(), (first, second) -> first));
+    }
+
+    private static HttpServer startProductsService() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/api/products", exchange -> {
+                forwardedTraceParents.add(exchange.getRequestHeaders().getFirst("traceparent"));
+
+                String product = "{\"type\":\"products\",\"id\":1,\"attributes\":"
+                        + "{\"id\":1,\"name\":\"Laptop\",\"price\":2500.0,\"description\":\"Gaming\"}}";
+                byte[] body = ("{\"data\":[" + product + "]}").getBytes(StandardCharsets.UTF_8);
+
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.test.linktic.inventoryservice;
+
+import com.test.linktic.inventoryservice.model.Inventory;
+import com.test.linktic.inventoryservice.model.Product;
+import com.test.linktic.inventoryservice.model.ProductReplica;
+import com.test.linktic.inventoryservice.model.dto.ProductChangedEvent;
+import com.test.linktic.inventoryservice.model.dto.PurchaseResponse;
+import com.test.linktic.inventoryservice.repository.InventoryRepository;
+import com.test.linktic.inventoryservice.repository.ProductReplicaRepository;
+import com.test.linktic.inventoryservice.service.InventoryService;
+import com.test.linktic.inventoryservice.service.client.ProductClient;
+import com.test.linktic.inventoryservice.service.replica.ProductReplicaStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jms.core.JmsTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Product change events go through an embedded broker standing in for the one in
+ * products-service. The products-service URL points nowhere, so every lookup in
+ * this test has to be served by the replica.
+ */
+@SpringBootTest(properties = {
+        "product.replication.enabled=true",
+        "spring.artemis.mode=embedded",
+        "spring.jms.pub-sub-domain=true",
+        "product.service.url=http://localhost:1/api/products",
+        "spring.datasource.url=jdbc:h2:mem:inventory-replication"
+})
+class ProductReplicationIntegrationTest {
+
+    @Autowired
+    private JmsTemplate jmsTemplate;
+
+    @Autowired
+    private ProductReplicaRepository replicaRepository;
+
+    @Autowired
+    private ProductReplicaStore replicaStore;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ProductClient productClient;
+
+    @Test
+    void testPurchaseProduct_ServedFromReplicatedProducts() {
+        inventoryRepository.save(new Inventory(null, 7L, 10, null));
+
+        jmsTemplate.convertAndSend("product.changed", new ProductChangedEvent(7L, "Laptop", 2500.0, "Gaming"));
+        await().atMost(Duration.ofSeconds(10)).until(() -> replicaRepository.existsById(7L));
+
+        assertEquals("Laptop", inventoryService.getByProductId(7L).orElseThrow().getProduct().getName());
+
+        jmsTemplate.convertAndSend("product.changed", new ProductChangedEvent(7L, "Laptop Pro", 2800.0, "Gaming"));
+        await().atMost(Duration.ofSeconds(10)).until(() ->
+                "Laptop Pro".equals(replicaRepository.findById(7L).map(ProductReplica::getName).orElse(null)));
+
+        PurchaseResponse purchase = inventoryService.purchaseProduct(7L, 2);
+
+        assertEquals("Laptop Pro", purchase.getProductName());
+        assertEquals(8, purchase.getRemainingStock());
+    }
+
+    @Test
+    void testRemember_KeepsCopyWrittenByEvent() {
+        replicaStore.apply(new ProductChangedEvent(8L, "Monitor 27", 400.0, "IPS"));
+
+        replicaStore.remember(List.of(new Product(8L, "Monitor", 350.0, "IPS")));
+
+        assertEquals("Monitor 27", replicaRepository.findById(8L).orElseThrow().getName());
+    }
+
+    @Test
+    void testRemember_RefreshesCopyPastMaxAge() {
+        replicaRepository.save(new ProductReplica(9L, "Mouse", 20.0, "Wired", Instant.now().minus(Duration.ofDays(1))));
+        assertNull(replicaStore.find(9L));
+
+        replicaStore.remember(List.of(new Product(9L, "Mouse", 25.0, "Wireless")));
+
+        assertEquals("Wireless", replicaStore.find(9L).getDescription());
+    }
+
+    @Test
+    void testGetProductById_ServesCopyPastMaxAgeWhileProductsServiceIsDown() {
+        replicaRepository.save(new ProductReplica(10L, "Keyboard", 60.0, "Mechanical", Instant.now().minus(Duration.ofDays(1))));
+
+        assertEquals("Keyboard", productClient.getProductById(10L).getName());
+    }
+}
@@ -0,0 +1,46 @@
+package com.test.linktic.inventoryservice;
+
+import com.test.linktic.inventoryservice.model.Inventory;
+import com.test.linktic.inventoryservice.repository.InventoryRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the prod profile against H2 in PostgreSQL mode: Flyway has to create the
+ * schema and Hibernate has to validate the entities against it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:inventory-prod;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@ActiveProfiles("prod")
+class ProductionProfileIntegrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private InventoryRepository repository;
+
+    @Test
+    void testMigrate_CreatesSchemaWithUniqueProductId() {
+        assertEquals("4", flyway.info().current().getVersion().getVersion());
+
+        repository.save(new Inventory(null, 1L, 5, null));
+
+        assertEquals(1, repository.updateQuantity(1L, 8));
+        assertEquals(Optional.of(8), repository.findQuantityByProductId(1L));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> repository.saveAndFlush(new Inventory(null, 1L, 3, null)));
+    }
+}
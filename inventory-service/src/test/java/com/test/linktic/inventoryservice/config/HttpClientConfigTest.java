@@ -0,0 +1,37 @@
+package com.test.linktic.inventoryservice.config;
+
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.message.BasicHttpResponse;
+import org.apache.hc.core5.util.TimeValue;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpClientConfigTest {
+
+    private final ConnectionKeepAliveStrategy strategy = HttpClientConfig.cappedKeepAlive(TimeValue.ofSeconds(30));
+
+    private TimeValue keepAlive(String header) {
+        BasicHttpResponse response = new BasicHttpResponse(200);
+        if (header != null) {
+            response.addHeader("Keep-Alive", header);
+        }
+        return strategy.getKeepAliveDuration(response, HttpClientContext.create());
+    }
+
+    @Test
+    void testKeepAlive_HonoursShorterServerTimeout() {
+        assertEquals(TimeValue.ofSeconds(5), keepAlive("timeout=5"));
+    }
+
+    @Test
+    void testKeepAlive_CapsLongerServerTimeout() {
+        assertEquals(TimeValue.ofSeconds(30), keepAlive("timeout=120"));
+    }
+
+    @Test
+    void testKeepAlive_UsesCapWithoutServerTimeout() {
+        assertEquals(TimeValue.ofSeconds(30), keepAlive(null));
+    }
+}
@@ -3,9 +3,20 @@ package com.test.linktic.inventoryservice.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.test.linktic.inventoryservice.model.Inventory;
 import com.test.linktic.inventoryservice.model.Product;
+import com.test.linktic.inventoryservice.model.PurchaseRequest;
+import com.test.linktic.inventoryservice.model.dto.BulkPurchaseRequest;
+import com.test.linktic.inventoryservice.model.dto.PurchaseLine;
+import com.test.linktic.inventoryservice.model.dto.PurchaseLineResult;
 import com.test.linktic.inventoryservice.model.dto.PurchaseResponse;
 import com.test.linktic.inventoryservice.security.ApiKeyAuthFilter;
+import com.test.linktic.inventoryservice.service.BulkPurchaseException;
+import com.test.linktic.inventoryservice.service.InventoryPage;
 import com.test.linktic.inventoryservice.service.InventoryService;
+import com.test.linktic.inventoryservice.service.UnknownProductsException;
+import com.test.linktic.inventoryservice.service.client.ProductServiceUnavailableException;
+import com.test.linktic.inventoryservice.service.purchase.AsyncPurchasePipeline;
+import com.test.linktic.inventoryservice.service.purchase.IdempotencyKeyReusedException;
+import com.test.linktic.inventoryservice.service.purchase.PurchaseQueueFullException;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,7 +27,11 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -35,6 +50,9 @@ class InventoryControllerTest {
     @Autowired
     private InventoryService service;
 
+    @Autowired
+    private AsyncPurchasePipeline purchasePipeline;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -44,6 +62,11 @@ class InventoryControllerTest {
         InventoryService inventoryService() {
             return Mockito.mock(InventoryService.class);
         }
+
+        @Bean
+        AsyncPurchasePipeline asyncPurchasePipeline() {
+            return Mockito.mock(AsyncPurchasePipeline.class);
+        }
     }
 
     @Test
@@ -73,6 +96,72 @@ class InventoryControllerTest {
                 .andExpect(jsonPath("$.errors[0].title").value("Inventory not found"));
     }
 
+    @Test
+    void testGetInventoryByProductId_ProductServiceUnavailable() throws Exception {
+        Mockito.when(service.getByProductId(1L))
+                .thenThrow(new ProductServiceUnavailableException("Products service is unavailable", null));
+
+        mockMvc.perform(get("/api/inventory/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.errors[0].title").value("Products service unavailable"));
+    }
+
+    @Test
+    void testGetInventory_FirstPageLinksToNext() throws Exception {
+        Product product = new Product(7L, "Gansito", 2000.0, "Description Gansito");
+        Inventory inventory = new Inventory(3L, 7L, 2, product);
+
+        Mockito.when(service.findPage(null, 1, 5)).thenReturn(new InventoryPage(List.of(inventory), 3L));
+
+        mockMvc.perform(get("/api/inventory?size=1&lowStockBelow=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(3))
+                .andExpect(jsonPath("$.data[0].attributes.productId").value(7))
+                .andExpect(jsonPath("$.data[0].attributes.quantity").value(2))
+                .andExpect(jsonPath("$.data[0].attributes.product.name").value("Gansito"))
+                .andExpect(jsonPath("$.meta.page.size").value(1))
+                .andExpect(jsonPath("$.meta.page.hasNext").value(true))
+                .andExpect(jsonPath("$.meta.page.nextCursor").value(3))
+                .andExpect(jsonPath("$.links.next").value("http://localhost/api/inventory?lowStockBelow=5&after=3&size=1"));
+    }
+
+    @Test
+    void testGetInventory_InvalidPageSize() throws Exception {
+        mockMvc.perform(get("/api/inventory").param("size", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].title").value("Invalid page size"));
+    }
+
+    @Test
+    void testGetInventoryByProductIdReactive_Found() throws Exception {
+        Product product = new Product(1L, "Gansito", 2000.0, "Description Gansito");
+        Inventory inventory = new Inventory(1L, 1L, 5, product);
+
+        Mockito.when(service.getByProductIdReactive(1L)).thenReturn(Mono.just(inventory));
+
+        MvcResult result = mockMvc.perform(get("/api/inventory/reactive/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.attributes.quantity").value(5))
+                .andExpect(jsonPath("$.data.attributes.product.name").value("Gansito"));
+    }
+
+    @Test
+    void testGetInventoryByProductIdReactive_NotFound() throws Exception {
+        Mockito.when(service.getByProductIdReactive(1L)).thenReturn(Mono.empty());
+
+        MvcResult result = mockMvc.perform(get("/api/inventory/reactive/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errors[0].title").value("Inventory not found"));
+    }
+
     @Test
     void testUpdateInventory_Success() throws Exception {
         Inventory requestInventory = new Inventory();
@@ -111,6 +200,35 @@ class InventoryControllerTest {
                 .andExpect(jsonPath("$.errors[0].title").value("Product not found"));
     }
 
+    @Test
+    void testUpdateInventories_Success() throws Exception {
+        Product product = new Product(1L, "Gansito", 2000.0, "Description Gansito");
+
+        Mockito.when(service.updateQuantities(List.of(new Inventory(null, 1L, 10, null))))
+                .thenReturn(List.of(new Inventory(1L, 1L, 10, product)));
+
+        mockMvc.perform(post("/api/inventory/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"productId\": 1, \"quantity\": 10}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].attributes.quantity").value(10))
+                .andExpect(jsonPath("$.data[0].attributes.product.name").value("Gansito"));
+    }
+
+    @Test
+    void testUpdateInventories_UnknownProducts() throws Exception {
+        Mockito.when(service.updateQuantities(Mockito.anyList()))
+                .thenThrow(new UnknownProductsException(List.of(98L, 99L)));
+
+        mockMvc.perform(post("/api/inventory/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"productId\": 98, \"quantity\": 1}, {\"productId\": 99, \"quantity\": 1}]"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errors.length()").value(2))
+                .andExpect(jsonPath("$.errors[1].detail").value("No product found for ID: 99"));
+    }
+
     @Test
     void testPurchaseProduct_Success() throws Exception {
         PurchaseResponse response = new PurchaseResponse(1L, "Gansito", 2, 8);
@@ -148,4 +266,163 @@ class InventoryControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errors[0].title").value("Insufficient stock"));
     }
+
+    @Test
+    void testPurchaseProduct_ProductServiceUnavailable() throws Exception {
+        Mockito.when(service.purchaseProduct(1L, 2))
+                .thenThrow(new ProductServiceUnavailableException("Products service is unavailable", null));
+
+        mockMvc.perform(post("/api/inventory/purchase")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("productId", 1, "quantity", 2))))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.errors[0].status").value("503"));
+    }
+
+    @Test
+    void testPurchaseProducts_Success() throws Exception {
+        Mockito.when(service.purchaseProducts(Mockito.anyList())).thenReturn(List.of(
+                new PurchaseLineResult(1L, "Gansito", 2, 8, PurchaseLineResult.Status.RESERVED),
+                new PurchaseLineResult(2L, "Chocorramo", 1, 4, PurchaseLineResult.Status.RESERVED)
+        ));
+
+        mockMvc.perform(post("/api/inventory/purchase/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkPurchaseRequest(List.of(
+                                new PurchaseLine(1L, 2),
+                                new PurchaseLine(2L, 1)
+                        )))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].type").value("purchase"))
+                .andExpect(jsonPath("$.data[1].attributes.remainingStock").value(4))
+                .andExpect(jsonPath("$.data[1].attributes.status").value("RESERVED"));
+    }
+
+    @Test
+    void testPurchaseProducts_Rejected() throws Exception {
+        Mockito.when(service.purchaseProducts(Mockito.anyList())).thenThrow(new BulkPurchaseException(List.of(
+                new PurchaseLineResult(1L, "Gansito", 2, null, PurchaseLineResult.Status.NOT_RESERVED),
+                new PurchaseLineResult(2L, "Chocorramo", 9, 4, PurchaseLineResult.Status.INSUFFICIENT_STOCK)
+        )));
+
+        mockMvc.perform(post("/api/inventory/purchase/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkPurchaseRequest(List.of(
+                                new PurchaseLine(1L, 2),
+                                new PurchaseLine(2L, 9)
+                        )))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errors.length()").value(1))
+                .andExpect(jsonPath("$.errors[0].title").value("Insufficient stock"))
+                .andExpect(jsonPath("$.meta.lines[0].status").value("NOT_RESERVED"));
+    }
+
+    private static PurchaseRequest purchaseRequest(PurchaseRequest.Status status, Integer remainingStock) {
+        Instant now = Instant.parse("2026-01-01T00:00:00Z");
+        return new PurchaseRequest(51L, "order-1", 1L, 2, status,
+                remainingStock != null ? "Gansito" : null, remainingStock, now, now);
+    }
+
+    @Test
+    void testPurchaseProductAsync_Accepted() throws Exception {
+        Mockito.when(purchasePipeline.isEnabled()).thenReturn(true);
+        Mockito.doReturn(purchaseRequest(PurchaseRequest.Status.PENDING, null))
+                .when(purchasePipeline).submit("order-1", 1L, 2);
+
+        mockMvc.perform(post("/api/inventory/purchase/async")
+                        .header("Idempotency-Key", "order-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("productId", 1, "quantity", 2))))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/inventory/purchase/requests/51"))
+                .andExpect(jsonPath("$.data.type").value("purchase-request"))
+                .andExpect(jsonPath("$.data.id").value("51"))
+                .andExpect(jsonPath("$.data.attributes.status").value("PENDING"))
+                .andExpect(jsonPath("$.data.attributes.remainingStock").isEmpty());
+    }
+
+    @Test
+    void testPurchaseProductAsync_RetryOfFinishedRequest() throws Exception {
+        Mockito.when(purchasePipeline.isEnabled()).thenReturn(true);
+        Mockito.doReturn(purchaseRequest(PurchaseRequest.Status.COMPLETED, 8))
+                .when(purchasePipeline).submit("order-1", 1L, 2);
+
+        mockMvc.perform(post("/api/inventory/purchase/async")
+                        .header("Idempotency-Key", "order-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("productId", 1, "quantity", 2))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.attributes.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.data.attributes.remainingStock").value(8));
+    }
+
+    @Test
+    void testPurchaseProductAsync_KeyReused() throws Exception {
+        Mockito.when(purchasePipeline.isEnabled()).thenReturn(true);
+        Mockito.doThrow(new IdempotencyKeyReusedException("order-1"))
+                .when(purchasePipeline).submit("order-1", 1L, 3);
+
+        mockMvc.perform(post("/api/inventory/purchase/async")
+                        .header("Idempotency-Key", "order-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("productId", 1, "quantity", 3))))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.errors[0].title").value("Idempotency key reused"));
+    }
+
+    @Test
+    void testPurchaseProductAsync_QueueFull() throws Exception {
+        Mockito.when(purchasePipeline.isEnabled()).thenReturn(true);
+        Mockito.doThrow(new PurchaseQueueFullException(10)).when(purchasePipeline).submit("order-1", 1L, 2);
+
+        mockMvc.perform(post("/api/inventory/purchase/async")
+                        .header("Idempotency-Key", "order-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("productId", 1, "quantity", 2))))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.errors[0].title").value("Purchase queue full"));
+    }
+
+    @Test
+    void testPurchaseProductAsync_MissingQuantity() throws Exception {
+        Mockito.when(purchasePipeline.isEnabled()).thenReturn(true);
+
+        mockMvc.perform(post("/api/inventory/purchase/async")
+                        .header("Idempotency-Key", "order-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("productId", 1))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].detail").value("Both productId and quantity are required"));
+    }
+
+    @Test
+    void testPurchaseProductAsync_Disabled() throws Exception {
+        Mockito.when(purchasePipeline.isEnabled()).thenReturn(false);
+
+        mockMvc.perform(post("/api/inventory/purchase/async")
+                        .header("Idempotency-Key", "order-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("productId", 1, "quantity", 2))))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errors[0].title").value("Asynchronous purchases disabled"));
+    }
+
+    @Test
+    void testGetPurchaseRequest() throws Exception {
+        Mockito.when(purchasePipeline.isEnabled()).thenReturn(true);
+        Mockito.when(purchasePipeline.find(51L))
+                .thenReturn(Optional.of(purchaseRequest(PurchaseRequest.Status.INSUFFICIENT_STOCK, 1)));
+        Mockito.when(purchasePipeline.find(52L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/inventory/purchase/requests/51"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.attributes.idempotencyKey").value("order-1"))
+                .andExpect(jsonPath("$.data.attributes.status").value("INSUFFICIENT_STOCK"))
+                .andExpect(jsonPath("$.data.attributes.createdAt").value("2026-01-01T00:00:00Z"));
+
+        mockMvc.perform(get("/api/inventory/purchase/requests/52"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errors[0].title").value("Purchase request not found"));
+    }
 }
@@ -0,0 +1,87 @@
+package com.test.linktic.inventoryservice.model.jsonapi;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.linktic.inventoryservice.model.Inventory;
+import com.test.linktic.inventoryservice.model.Product;
+import com.test.linktic.inventoryservice.model.dto.PurchaseLineResult;
+import com.test.linktic.inventoryservice.model.dto.PurchaseResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonApiDocumentTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Product product = new Product(1L, "Laptop", 2500.0, "Gaming");
+
+    @Test
+    void testInventoryView_MatchesMapEnvelope() throws Exception {
+        Inventory inventory = new Inventory(7L, 1L, 5, product);
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("product", product);
+        attributes.put("quantity", 5);
+
+        assertEquals(
+                write(Map.of("data", Map.of("type", "inventory", "id", 7L, "attributes", attributes))),
+                write(new ResourceDocument(InventoryResource.of(inventory))));
+    }
+
+    @Test
+    void testInventoryWithKeys_MatchesEntitySerialisation() throws Exception {
+        Inventory inventory = new Inventory(7L, 1L, 5, product);
+
+        assertEquals(
+                write(Map.of("data", Map.of("type", "inventory", "id", 7L, "attributes", inventory))),
+                write(new ResourceDocument(InventoryResource.withKeys(inventory))));
+    }
+
+    @Test
+    void testInventoryView_AllowsNullId() throws Exception {
+        JsonNode document = write(new ResourceDocument(InventoryResource.of(new Inventory(null, 1L, 0, product))));
+
+        assertTrue(document.at("/data").has("id"));
+        assertTrue(document.at("/data/id").isNull());
+        assertEquals(0, document.at("/data/attributes/quantity").asInt());
+    }
+
+    @Test
+    void testPurchase_MatchesMapEnvelope() throws Exception {
+        PurchaseResponse purchase = new PurchaseResponse(1L, "Laptop", 2, 3);
+
+        assertEquals(
+                write(Map.of("data", Map.of("type", "purchase", "attributes", purchase))),
+                write(new ResourceDocument(new PurchaseResource(purchase))));
+    }
+
+    @Test
+    void testPurchaseLines_MatchMapEnvelope() throws Exception {
+        PurchaseLineResult line = new PurchaseLineResult(1L, "Laptop", 2, null, PurchaseLineResult.Status.NOT_RESERVED);
+
+        assertEquals(
+                write(Map.of("data", List.of(Map.of("type", "purchase", "attributes", line)))),
+                write(new CollectionDocument(List.of(new PurchaseLineResource(line)))));
+    }
+
+    @Test
+    void testErrorWithMeta_MatchesMapEnvelope() throws Exception {
+        PurchaseLineResult line = new PurchaseLineResult(1L, "Laptop", 2, 1, PurchaseLineResult.Status.INSUFFICIENT_STOCK);
+        ErrorDocument.Error error = new ErrorDocument.Error("400", "Insufficient stock", "Rejected");
+
+        assertEquals(
+                write(Map.of(
+                        "errors", List.of(Map.of("status", "400", "title", "Insufficient stock", "detail", "Rejected")),
+                        "meta", Map.of("lines", List.of(line)))),
+                write(new ErrorDocument(List.of(error), Map.of("lines", List.of(line)))));
+    }
+
+    private JsonNode write(Object document) throws Exception {
+        return objectMapper.readTree(objectMapper.writeValueAsBytes(document));
+    }
+}
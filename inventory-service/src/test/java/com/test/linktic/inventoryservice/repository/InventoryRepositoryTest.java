@@ -0,0 +1,61 @@
+package com.test.linktic.inventoryservice.repository;
+
+import com.test.linktic.inventoryservice.model.Inventory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class InventoryRepositoryTest {
+
+    @Autowired
+    private InventoryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        Inventory inventory = new Inventory();
+        inventory.setProductId(1L);
+        inventory.setQuantity(5);
+        repository.save(inventory);
+    }
+
+    @Test
+    void testDecrementQuantity_EnoughStock() {
+        assertEquals(1, repository.decrementQuantity(1L, 3));
+        assertEquals(Optional.of(2), repository.findQuantityByProductId(1L));
+    }
+
+    @Test
+    void testDecrementQuantity_InsufficientStockLeavesRowUntouched() {
+        assertEquals(0, repository.decrementQuantity(1L, 6));
+        assertEquals(Optional.of(5), repository.findQuantityByProductId(1L));
+    }
+
+    @Test
+    void testDecrementQuantity_NoInventoryRow() {
+        assertEquals(0, repository.decrementQuantity(2L, 1));
+    }
+
+    @Test
+    void testUpdateQuantity_ExistingRow() {
+        assertEquals(1, repository.updateQuantity(1L, 9));
+        assertEquals(Optional.of(9), repository.findQuantityByProductId(1L));
+    }
+
+    @Test
+    void testUpdateQuantity_NoInventoryRow() {
+        assertEquals(0, repository.updateQuantity(2L, 9));
+    }
+
+    @Test
+    void testProductIdIsUnique() {
+        assertThrows(DataIntegrityViolationException.class,
+                () -> repository.saveAndFlush(new Inventory(null, 1L, 3, null)));
+    }
+}
@@ -2,16 +2,30 @@ package com.test.linktic.inventoryservice.service;
 
 import com.test.linktic.inventoryservice.model.Inventory;
 import com.test.linktic.inventoryservice.model.Product;
+import com.test.linktic.inventoryservice.model.dto.PurchaseLine;
+import com.test.linktic.inventoryservice.model.dto.PurchaseLineResult;
 import com.test.linktic.inventoryservice.model.dto.PurchaseResponse;
 import com.test.linktic.inventoryservice.repository.InventoryRepository;
 import com.test.linktic.inventoryservice.service.client.ProductClient;
+import com.test.linktic.inventoryservice.service.client.ReactiveProductClient;
+import com.test.linktic.inventoryservice.service.stock.HotStockLedger;
+import com.test.linktic.inventoryservice.service.stock.InventoryGroupCommitter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.client.HttpClientErrorException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,7 +38,19 @@ class InventoryServiceTest {
     @Mock
     private ProductClient productClient;
 
-    @InjectMocks
+    @Mock
+    private ReactiveProductClient reactiveProductClient;
+
+    @Mock
+    private HotStockLedger hotStockLedger;
+
+    @Mock
+    private InventoryGroupCommitter groupCommitter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
     private InventoryService service;
 
     private Product mockProduct;
@@ -34,6 +60,9 @@ class InventoryServiceTest {
     @BeforeEach
     void setUp() {
         closeable = MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new InventoryService(repository, productClient, reactiveProductClient, hotStockLedger,
+                groupCommitter, transactionManager, meterRegistry);
 
         mockProduct = new Product(1L, "Laptop", 1500.0, "Gaming laptop");
         mockInventory = new Inventory();
@@ -61,16 +90,18 @@ class InventoryServiceTest {
     }
 
     @Test
-    void testGetByProductId_ProductExists_NoInventory_CreatesNew() {
+    void testGetByProductId_ProductExists_NoInventory_ReturnsZeroStockWithoutWriting() {
         when(productClient.getProductById(1L)).thenReturn(mockProduct);
         when(repository.findByProductId(1L)).thenReturn(Optional.empty());
-        when(repository.save(any(Inventory.class))).thenAnswer(inv -> inv.getArgument(0));
 
         Optional<Inventory> result = service.getByProductId(1L);
 
         assertTrue(result.isPresent());
+        assertNull(result.get().getId());
         assertEquals(0, result.get().getQuantity());
-        verify(repository).save(any(Inventory.class));
+        assertEquals("Laptop", result.get().getProduct().getName());
+        verify(repository, never()).save(any());
+        verify(repository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -83,17 +114,105 @@ class InventoryServiceTest {
         verify(repository, never()).save(any());
     }
 
+    @Test
+    void testFindPage_OneBatchedProductLookupPerPage() {
+        Inventory mouseInventory = new Inventory(2L, 2L, 3, null);
+        Inventory keyboardInventory = new Inventory(3L, 3L, 1, null);
+        Product mouse = new Product(2L, "Mouse", 50.0, "Mouse gamer");
+
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(List.of(mockInventory, mouseInventory, keyboardInventory));
+        when(productClient.getProductsByIds(Set.of(1L, 2L))).thenReturn(Map.of(1L, mockProduct, 2L, mouse));
+
+        InventoryPage page = service.findPage(null, 2, null);
+
+        assertEquals(List.of(mockInventory, mouseInventory), page.inventories());
+        assertEquals(2L, page.nextCursor());
+        assertEquals("Mouse", page.inventories().get(1).getProduct().getName());
+        verify(productClient, times(1)).getProductsByIds(any());
+        verify(productClient, never()).getProductById(anyLong());
+    }
+
+    @Test
+    void testFindPage_LowStockFilterOnLastPage() {
+        Inventory mouseInventory = new Inventory(2L, 2L, 3, null);
+
+        when(repository.findByIdGreaterThanAndQuantityLessThanOrderByIdAsc(1L, 5, Limit.of(11)))
+                .thenReturn(List.of(mouseInventory));
+        when(productClient.getProductsByIds(Set.of(2L))).thenReturn(Map.of());
+
+        InventoryPage page = service.findPage(1L, 10, 5);
+
+        assertFalse(page.hasNext());
+        assertEquals(1, page.inventories().size());
+        assertNull(page.inventories().get(0).getProduct());
+    }
+
+    @Test
+    void testGetByProductIdReactive_ProductExists_InventoryFound() {
+        when(reactiveProductClient.getProductById(1L)).thenReturn(Mono.just(mockProduct));
+        when(repository.findByProductId(1L)).thenReturn(Optional.of(mockInventory));
+
+        StepVerifier.create(service.getByProductIdReactive(1L))
+                .assertNext(inventory -> {
+                    assertEquals(10, inventory.getQuantity());
+                    assertEquals("Laptop", inventory.getProduct().getName());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetByProductIdReactive_ProductNotFound() {
+        when(reactiveProductClient.getProductById(1L)).thenReturn(Mono.empty());
+        when(repository.findByProductId(1L)).thenReturn(Optional.of(mockInventory));
+
+        StepVerifier.create(service.getByProductIdReactive(1L))
+                .verifyComplete();
+    }
+
     @Test
     void testUpdateQuantity_Valid() {
         when(productClient.getProductById(1L)).thenReturn(mockProduct);
-        when(repository.findByProductId(1L)).thenReturn(Optional.of(mockInventory));
-        when(repository.save(any(Inventory.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(repository.updateQuantity(1L, 5)).thenReturn(1);
+        when(repository.findByProductId(1L)).thenReturn(Optional.of(new Inventory(1L, 1L, 5, null)));
 
         Inventory updated = service.updateQuantity(1L, 5);
 
         assertNotNull(updated);
         assertEquals(5, updated.getQuantity());
         assertEquals("Laptop", updated.getProduct().getName());
+        verify(repository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testUpdateQuantity_NoInventory_InsertsRow() {
+        when(productClient.getProductById(1L)).thenReturn(mockProduct);
+        when(repository.updateQuantity(1L, 5)).thenReturn(0);
+        when(repository.saveAndFlush(any(Inventory.class))).thenAnswer(inv -> {
+            Inventory inventory = inv.getArgument(0);
+            inventory.setId(1L);
+            return inventory;
+        });
+
+        Inventory updated = service.updateQuantity(1L, 5);
+
+        assertEquals(1L, updated.getId());
+        assertEquals(5, updated.getQuantity());
+        assertEquals("Laptop", updated.getProduct().getName());
+    }
+
+    @Test
+    void testUpdateQuantity_ConcurrentInsert_FallsBackToUpdate() {
+        when(productClient.getProductById(1L)).thenReturn(mockProduct);
+        when(repository.updateQuantity(1L, 5)).thenReturn(0, 1);
+        when(repository.saveAndFlush(any(Inventory.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_inventory_product_id"));
+        when(repository.findByProductId(1L)).thenReturn(Optional.of(new Inventory(1L, 1L, 5, null)));
+
+        Inventory updated = service.updateQuantity(1L, 5);
+
+        assertEquals(5, updated.getQuantity());
+        verify(repository, times(2)).updateQuantity(1L, 5);
     }
 
     @Test
@@ -110,11 +229,66 @@ class InventoryServiceTest {
         assertNull(updated);
     }
 
+    @Test
+    void testUpdateQuantities_InsertsNewRowsAndUpdatesExistingOnes() {
+        Product mouse = new Product(2L, "Mouse", 50.0, "Mouse gamer");
+        when(productClient.getProductsByIds(Set.of(1L, 2L))).thenReturn(Map.of(1L, mockProduct, 2L, mouse));
+        when(repository.findAllByProductIdIn(Set.of(1L, 2L))).thenReturn(List.of(mockInventory));
+        when(repository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Inventory> rows = inv.getArgument(0);
+            rows.forEach(row -> row.setId(51L));
+            return rows;
+        });
+
+        List<Inventory> result = service.updateQuantities(List.of(
+                new Inventory(null, 2L, 4, null),
+                new Inventory(null, 1L, 6, null)));
+
+        assertEquals(List.of(1L, 51L), result.stream().map(Inventory::getId).toList());
+        assertEquals(6, mockInventory.getQuantity());
+        assertEquals("Mouse", result.get(1).getProduct().getName());
+        verify(repository).saveAll(List.of(new Inventory(51L, 2L, 4, null)));
+        verify(hotStockLedger, never()).set(anyLong(), anyInt());
+    }
+
+    @Test
+    void testUpdateQuantities_HotStockSetsExistingRowsThroughLedger() {
+        when(hotStockLedger.isEnabled()).thenReturn(true);
+        when(productClient.getProductsByIds(Set.of(1L))).thenReturn(Map.of(1L, mockProduct));
+        when(repository.findAllByProductIdIn(Set.of(1L))).thenReturn(List.of(mockInventory));
+        when(repository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<Inventory> result = service.updateQuantities(List.of(new Inventory(null, 1L, 6, null)));
+
+        assertEquals(6, result.get(0).getQuantity());
+        assertEquals(10, mockInventory.getQuantity());
+        verify(hotStockLedger).set(1L, 6);
+    }
+
+    @Test
+    void testUpdateQuantities_UnknownProductWritesNothing() {
+        when(productClient.getProductsByIds(Set.of(1L, 2L))).thenReturn(Map.of(1L, mockProduct));
+
+        UnknownProductsException e = assertThrows(UnknownProductsException.class, () -> service.updateQuantities(List.of(
+                new Inventory(null, 1L, 6, null),
+                new Inventory(null, 2L, 4, null))));
+
+        assertEquals(List.of(2L), e.getProductIds());
+        verify(repository, never()).saveAll(any());
+    }
+
+    @Test
+    void testUpdateQuantities_DuplicateProduct() {
+        assertThrows(IllegalArgumentException.class, () -> service.updateQuantities(List.of(
+                new Inventory(null, 1L, 6, null),
+                new Inventory(null, 1L, 4, null))));
+    }
+
     @Test
     void testPurchaseProduct_Successful() {
         when(productClient.getProductById(1L)).thenReturn(mockProduct);
-        when(repository.findByProductId(1L)).thenReturn(Optional.of(mockInventory));
-        when(repository.save(any(Inventory.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(repository.decrementQuantity(1L, 3)).thenReturn(1);
+        when(repository.findQuantityByProductId(1L)).thenReturn(Optional.of(7));
 
         PurchaseResponse response = service.purchaseProduct(1L, 3);
 
@@ -122,15 +296,30 @@ class InventoryServiceTest {
         assertEquals(1L, response.getProductId());
         assertEquals(3, response.getQuantityPurchased());
         assertEquals(7, response.getRemainingStock());
+        assertEquals(1, purchases("success"));
+        verify(repository, never()).save(any());
+        verify(transactionManager).commit(any());
     }
 
     @Test
     void testPurchaseProduct_InsufficientInventory() {
         when(productClient.getProductById(1L)).thenReturn(mockProduct);
         mockInventory.setQuantity(2);
+        when(repository.decrementQuantity(1L, 5)).thenReturn(0);
         when(repository.findByProductId(1L)).thenReturn(Optional.of(mockInventory));
 
         assertThrows(IllegalStateException.class, () -> service.purchaseProduct(1L, 5));
+        assertEquals(1, purchases("insufficient_stock"));
+    }
+
+    @Test
+    void testPurchaseProduct_NoInventory() {
+        when(productClient.getProductById(1L)).thenReturn(mockProduct);
+        when(repository.decrementQuantity(1L, 2)).thenReturn(0);
+        when(repository.findByProductId(1L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> service.purchaseProduct(1L, 2));
+        assertEquals(1, purchases("not_found"));
     }
 
     @Test
@@ -140,8 +329,152 @@ class InventoryServiceTest {
         assertThrows(IllegalArgumentException.class, () -> service.purchaseProduct(1L, 2));
     }
 
+    @Test
+    void testPurchaseProduct_UnknownProduct() {
+        when(productClient.getProductById(1L)).thenReturn(null);
+
+        assertThrows(IllegalArgumentException.class, () -> service.purchaseProduct(1L, 2));
+        verify(repository, never()).decrementQuantity(anyLong(), anyInt());
+    }
+
+    @Test
+    void testPurchaseProduct_HotStockReservesInLedger() {
+        when(hotStockLedger.isEnabled()).thenReturn(true);
+        when(productClient.getProductById(1L)).thenReturn(mockProduct);
+        when(hotStockLedger.reserve(1L, 3)).thenReturn(7);
+
+        PurchaseResponse response = service.purchaseProduct(1L, 3);
+
+        assertEquals(7, response.getRemainingStock());
+        verify(repository, never()).decrementQuantity(anyLong(), anyInt());
+    }
+
+    @Test
+    void testPurchaseProduct_GroupCommitDecrementsThroughCommitter() {
+        when(groupCommitter.isEnabled()).thenReturn(true);
+        when(productClient.getProductById(1L)).thenReturn(mockProduct);
+        when(groupCommitter.decrement(1L, 3)).thenReturn(new Inventory(1L, 1L, 7, null));
+
+        PurchaseResponse response = service.purchaseProduct(1L, 3);
+
+        assertEquals(7, response.getRemainingStock());
+        assertEquals(1.0, meterRegistry.get("inventory.purchases").tag("outcome", "success").counter().count());
+        verify(repository, never()).decrementQuantity(anyLong(), anyInt());
+    }
+
+    @Test
+    void testPurchaseProduct_GroupCommitInsufficientStock() {
+        when(groupCommitter.isEnabled()).thenReturn(true);
+        when(productClient.getProductById(1L)).thenReturn(mockProduct);
+        when(groupCommitter.decrement(1L, 30))
+                .thenThrow(new IllegalStateException("Insufficient inventory for product ID: 1"));
+
+        assertThrows(IllegalStateException.class, () -> service.purchaseProduct(1L, 30));
+        assertEquals(1.0, meterRegistry.get("inventory.purchases").tag("outcome", "insufficient_stock").counter().count());
+    }
+
+    @Test
+    void testUpdateQuantity_GroupCommitSetsThroughCommitter() {
+        when(groupCommitter.isEnabled()).thenReturn(true);
+        when(productClient.getProductById(1L)).thenReturn(mockProduct);
+        when(groupCommitter.setQuantity(1L, 5)).thenReturn(new Inventory(1L, 1L, 5, null));
+
+        Inventory updated = service.updateQuantity(1L, 5);
+
+        assertEquals(5, updated.getQuantity());
+        assertEquals("Laptop", updated.getProduct().getName());
+        verify(repository, never()).updateQuantity(anyLong(), anyInt());
+    }
+
+    @Test
+    void testUpdateQuantity_HotStockWritesToLedger() {
+        when(hotStockLedger.isEnabled()).thenReturn(true);
+        when(productClient.getProductById(1L)).thenReturn(mockProduct);
+        when(repository.findByProductId(1L)).thenReturn(Optional.of(mockInventory));
+
+        Inventory updated = service.updateQuantity(1L, 5);
+
+        assertEquals(5, updated.getQuantity());
+        verify(hotStockLedger).set(1L, 5);
+        verify(repository, never()).save(any());
+    }
+
     @Test
     void testPurchaseProduct_InvalidQuantity() {
         assertThrows(IllegalArgumentException.class, () -> service.purchaseProduct(1L, 0));
     }
+
+    @Test
+    void testPurchaseProducts_AllLinesReserved() {
+        Product mouse = new Product(2L, "Mouse", 50.0, "Mouse gamer");
+        Inventory mouseInventory = new Inventory(2L, 2L, 4, null);
+        mockInventory.setQuantity(7);
+
+        when(productClient.getProductsByIds(Set.of(1L, 2L))).thenReturn(Map.of(1L, mockProduct, 2L, mouse));
+        when(repository.decrementQuantity(1L, 3)).thenReturn(1);
+        when(repository.decrementQuantity(2L, 1)).thenReturn(1);
+        when(repository.findAllByProductIdIn(Set.of(1L, 2L))).thenReturn(List.of(mockInventory, mouseInventory));
+
+        List<PurchaseLineResult> results = service.purchaseProducts(List.of(
+                new PurchaseLine(2L, 1),
+                new PurchaseLine(1L, 2),
+                new PurchaseLine(1L, 1)
+        ));
+
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(r -> r.getStatus() == PurchaseLineResult.Status.RESERVED));
+        assertEquals(4, results.get(0).getRemainingStock());
+        assertEquals(7, results.get(1).getRemainingStock());
+
+        InOrder inOrder = inOrder(repository);
+        inOrder.verify(repository).decrementQuantity(1L, 3);
+        inOrder.verify(repository).decrementQuantity(2L, 1);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testPurchaseProducts_InsufficientStockRollsBackEveryLine() {
+        Product mouse = new Product(2L, "Mouse", 50.0, "Mouse gamer");
+        Inventory mouseInventory = new Inventory(2L, 2L, 0, null);
+
+        when(productClient.getProductsByIds(Set.of(1L, 2L))).thenReturn(Map.of(1L, mockProduct, 2L, mouse));
+        when(repository.decrementQuantity(1L, 3)).thenReturn(1);
+        when(repository.decrementQuantity(2L, 1)).thenReturn(0);
+        when(repository.findAllByProductIdIn(Set.of(1L, 2L))).thenReturn(List.of(mockInventory, mouseInventory));
+
+        BulkPurchaseException e = assertThrows(BulkPurchaseException.class, () -> service.purchaseProducts(List.of(
+                new PurchaseLine(1L, 3),
+                new PurchaseLine(2L, 1)
+        )));
+
+        assertEquals(PurchaseLineResult.Status.NOT_RESERVED, e.getResults().get(0).getStatus());
+        assertEquals(PurchaseLineResult.Status.INSUFFICIENT_STOCK, e.getResults().get(1).getStatus());
+        assertEquals(1, purchases("insufficient_stock"));
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void testPurchaseProducts_UnknownProductReservesNothing() {
+        when(productClient.getProductsByIds(Set.of(1L, 99L))).thenReturn(Map.of(1L, mockProduct));
+
+        BulkPurchaseException e = assertThrows(BulkPurchaseException.class, () -> service.purchaseProducts(List.of(
+                new PurchaseLine(1L, 1),
+                new PurchaseLine(99L, 1)
+        )));
+
+        assertEquals(PurchaseLineResult.Status.PRODUCT_NOT_FOUND, e.getResults().get(1).getStatus());
+        assertEquals(1, purchases("not_found"));
+        verify(repository, never()).decrementQuantity(anyLong(), anyInt());
+    }
+
+    @Test
+    void testPurchaseProducts_InvalidLine() {
+        assertThrows(IllegalArgumentException.class, () -> service.purchaseProducts(List.of(new PurchaseLine(1L, 0))));
+        assertThrows(IllegalArgumentException.class, () -> service.purchaseProducts(List.of()));
+    }
+
+    private double purchases(String outcome) {
+        return meterRegistry.get("inventory.purchases").tag("outcome", outcome).counter().count();
+    }
 }
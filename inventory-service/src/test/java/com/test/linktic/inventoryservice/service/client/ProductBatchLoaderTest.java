@@ -0,0 +1,113 @@
+package com.test.linktic.inventoryservice.service.client;
+
+import com.test.linktic.inventoryservice.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductBatchLoaderTest {
+
+    private final List<Set<Long>> batches = new ArrayList<>();
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private Map<Long, Product> fetch(Set<Long> ids) {
+        synchronized (batches) {
+            batches.add(Set.copyOf(ids));
+        }
+        Map<Long, Product> products = new HashMap<>();
+        ids.stream()
+                .filter(id -> id < 100)
+                .forEach(id -> products.put(id, new Product(id, "Product " + id, 10.0, "Description")));
+        return products;
+    }
+
+    @Test
+    void testLoad_CoalescesRequestsWithinWindow() {
+        ProductBatchLoader loader = new ProductBatchLoader(this::fetch, scheduler, Duration.ofMillis(50), 100, Duration.ofSeconds(5));
+
+        CompletableFuture<Product> first = loader.load(1L);
+        CompletableFuture<Product> second = loader.load(2L);
+        CompletableFuture<Product> duplicate = loader.load(1L);
+        CompletableFuture<Product> missing = loader.load(404L);
+
+        assertEquals("Product 1", first.join().getName());
+        assertEquals("Product 2", second.join().getName());
+        assertSame(first, duplicate);
+        assertNull(missing.join());
+        assertEquals(List.of(Set.of(1L, 2L, 404L)), batches);
+    }
+
+    @Test
+    void testLoad_FlushesWhenBatchIsFull() {
+        ProductBatchLoader loader = new ProductBatchLoader(this::fetch, scheduler, Duration.ofMinutes(1), 2, Duration.ofSeconds(5));
+
+        CompletableFuture<Product> first = loader.load(1L);
+        CompletableFuture<Product> second = loader.load(2L);
+
+        assertEquals("Product 1", first.join().getName());
+        assertEquals("Product 2", second.join().getName());
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    void testGet_PropagatesFetchFailure() {
+        ProductBatchLoader loader = new ProductBatchLoader(ids -> {
+            throw new IllegalStateException("products-service unavailable");
+        }, scheduler, Duration.ofMillis(1), 100, Duration.ofSeconds(5));
+
+        assertThrows(IllegalStateException.class, () -> loader.get(1L));
+    }
+
+    @Test
+    void testGet_FailsWhenSchedulerRejectsBatch() {
+        scheduler.shutdown();
+        ProductBatchLoader loader = new ProductBatchLoader(this::fetch, scheduler, Duration.ofMillis(1), 100,
+                Duration.ofSeconds(5));
+
+        assertThrows(ProductServiceUnavailableException.class, () -> loader.get(1L));
+        assertThrows(ProductServiceUnavailableException.class, () -> loader.get(1L));
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    void testGet_TimesOutWhenBatchDoesNotComplete() {
+        CountDownLatch release = new CountDownLatch(1);
+        ProductBatchLoader loader = new ProductBatchLoader(ids -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Map.of();
+        }, scheduler, Duration.ofMillis(1), 100, Duration.ofMillis(100));
+
+        try {
+            assertThrows(ProductServiceUnavailableException.class, () -> loader.get(1L));
+        } finally {
+            release.countDown();
+        }
+    }
+}
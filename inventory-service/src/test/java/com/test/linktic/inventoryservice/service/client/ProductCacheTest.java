@@ -0,0 +1,130 @@
+package com.test.linktic.inventoryservice.service.client;
+
+import com.test.linktic.inventoryservice.model.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCacheTest {
+
+    private final AtomicLong now = new AtomicLong(0);
+    private final List<Runnable> pendingRefreshes = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ProductCache cache;
+    private Function<Long, Product> loader;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductCache(true, Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(5), 2,
+                now::get, pendingRefreshes::add);
+        cache.bindTo(meterRegistry);
+        loader = id -> {
+            loads.incrementAndGet();
+            return id > 100 ? null : new Product(id, "Product " + loads.get(), 10.0, "Description");
+        };
+    }
+
+    @Test
+    void testGet_HitWithinTtl() {
+        cache.get(1L, loader);
+        now.set(29_000);
+        Product product = cache.get(1L, loader);
+
+        assertEquals("Product 1", product.getName());
+        assertEquals(1, loads.get());
+        assertEquals(1, requests("hit"));
+        assertEquals(1, requests("miss"));
+    }
+
+    @Test
+    void testGet_NotFoundIsCachedForNegativeTtl() {
+        assertNull(cache.get(404L, loader));
+        now.set(4_000);
+        assertNull(cache.get(404L, loader));
+        assertEquals(1, loads.get());
+
+        now.set(6_000);
+        assertNull(cache.get(404L, loader));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGet_StaleEntryIsServedWhileRefreshing() {
+        cache.get(1L, loader);
+        now.set(31_000);
+
+        Product stale = cache.get(1L, loader);
+        assertEquals("Product 1", stale.getName());
+        assertEquals(1, requests("stale_hit"));
+        assertEquals(1, pendingRefreshes.size());
+
+        cache.get(1L, loader);
+        assertEquals(1, pendingRefreshes.size());
+
+        pendingRefreshes.get(0).run();
+        assertEquals("Product 2", cache.get(1L, loader).getName());
+    }
+
+    @Test
+    void testGet_ExpiredBeyondStaleWindowReloads() {
+        cache.get(1L, loader);
+        now.set(Duration.ofSeconds(30).plusMinutes(5).toMillis());
+
+        assertEquals("Product 2", cache.get(1L, loader).getName());
+        assertEquals(2, requests("miss"));
+        assertTrue(pendingRefreshes.isEmpty());
+    }
+
+    @Test
+    void testPut_EvictsOldestBeyondMaxEntries() {
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+        cache.get(3L, loader);
+
+        assertEquals(2, cache.size());
+        assertEquals(2, meterRegistry.get("product.cache.size").gauge().value());
+        assertEquals(1, meterRegistry.get("product.cache.evictions").functionCounter().count());
+
+        cache.get(1L, loader);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testGet_DisabledAlwaysLoads() {
+        ProductCache disabled = new ProductCache(false, Duration.ofSeconds(30), Duration.ofMinutes(5),
+                Duration.ofSeconds(5), 2, now::get, pendingRefreshes::add);
+
+        disabled.get(1L, loader);
+        disabled.get(1L, loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, disabled.size());
+    }
+
+    @Test
+    void testPut_ETagKeptWhileProductIsUnchanged() {
+        Product product = new Product(1L, "Laptop", 10.0, "Description");
+        cache.put(1L, product, "\"v1\"");
+
+        cache.put(1L, new Product(1L, "Laptop", 10.0, "Description"));
+        assertEquals("\"v1\"", cache.getETag(1L));
+
+        cache.put(1L, new Product(1L, "Laptop", 12.0, "Description"));
+        assertNull(cache.getETag(1L));
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("product.cache.requests").tag("result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,212 @@
+package com.test.linktic.inventoryservice.service.client;
+
+import com.test.linktic.inventoryservice.model.Product;
+import com.test.linktic.inventoryservice.model.ProductReplica;
+import com.test.linktic.inventoryservice.model.dto.ProductResponse;
+import com.test.linktic.inventoryservice.repository.ProductReplicaRepository;
+import com.test.linktic.inventoryservice.service.replica.ProductReplicaStore;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProductClientTest {
+
+    private final AtomicLong now = new AtomicLong(0);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RestTemplate restTemplate;
+    private ProductReplicaRepository replicaRepository;
+    private ProductServiceGuard guard;
+    private ProductClient client;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        replicaRepository = mock(ProductReplicaRepository.class);
+
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .recordException(new TransientProductServiceFailure())
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        RetryRegistry retries = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(2)
+                .waitDuration(Duration.ofMillis(1))
+                .retryOnException(new TransientProductServiceFailure())
+                .build());
+        guard = new ProductServiceGuard(circuitBreakers, BulkheadRegistry.ofDefaults(), retries);
+
+        ProductCache cache = new ProductCache(true, Duration.ofSeconds(30), Duration.ZERO, Duration.ofSeconds(5),
+                100, now::get, Runnable::run);
+        client = newClient(cache, new ProductReplicaStore(replicaRepository, false, Duration.ofMinutes(15)));
+    }
+
+    private ProductClient newClient(ProductCache cache, ProductReplicaStore replicaStore) {
+        return new ProductClient(restTemplate, "http://products/api/products", "key", "cbor", cache, replicaStore, guard,
+                meterRegistry, false, Duration.ofMillis(2), 100, 1, Duration.ofSeconds(5), false);
+    }
+
+    @Test
+    void testGetProductById_ServesLastKnownProductWhenUnavailable() {
+        Product product = new Product(1L, "Laptop", 1200.0, "Gaming laptop");
+        when(productExchange())
+                .thenReturn(ResponseEntity.ok(new ProductResponse(new ProductResponse.ProductData("products", 1L, product))))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+
+        assertEquals("Laptop", client.getProductById(1L).getName());
+
+        now.set(60_000);
+        Product fallback = client.getProductById(1L);
+
+        assertEquals("Laptop", fallback.getName());
+        assertEquals(1, meterRegistry.get("product.client.lookup").tag("outcome", "found").timer().count());
+        assertEquals(1, meterRegistry.get("product.client.lookup").tag("outcome", "fallback").timer().count());
+        verify(restTemplate, times(3)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(ProductResponse.class), any(Object[].class));
+    }
+
+    @Test
+    void testGetProductById_UnavailableWithoutLastKnownProduct() {
+        when(productExchange()).thenThrow(new ResourceAccessException("Connection refused"));
+
+        assertThrows(ProductServiceUnavailableException.class, () -> client.getProductById(1L));
+    }
+
+    @Test
+    void testGetProductById_FailsFastOnceCircuitIsOpen() {
+        when(productExchange()).thenThrow(new ResourceAccessException("Connection refused"));
+
+        assertThrows(ProductServiceUnavailableException.class, () -> client.getProductById(1L));
+        assertThrows(ProductServiceUnavailableException.class, () -> client.getProductById(2L));
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState());
+
+        ProductServiceUnavailableException e =
+                assertThrows(ProductServiceUnavailableException.class, () -> client.getProductById(3L));
+
+        assertInstanceOf(CallNotPermittedException.class, e.getCause());
+        verify(restTemplate, times(4)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(ProductResponse.class), any(Object[].class));
+    }
+
+    @Test
+    void testGetProductById_NotFoundDoesNotOpenCircuit() {
+        when(productExchange()).thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        for (long id = 1; id <= 10; id++) {
+            assertNull(client.getProductById(id));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState());
+        assertEquals(10, meterRegistry.get("product.client.lookup").tag("outcome", "not_found").timer().count());
+        verify(restTemplate, times(10)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(ProductResponse.class), any(Object[].class));
+    }
+
+    @Test
+    void testGetProductById_ReadsReplicaBeforeProductsService() {
+        client = newClient(disabledCache(), new ProductReplicaStore(replicaRepository, true, Duration.ofMinutes(15)));
+        when(replicaRepository.findById(1L)).thenReturn(Optional.of(new ProductReplica(1L, "Laptop", 1200.0, "Gaming laptop", Instant.now())));
+
+        assertEquals("Laptop", client.getProductById(1L).getName());
+        verify(restTemplate, never()).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
+                eq(ProductResponse.class), any(Object[].class));
+    }
+
+    @Test
+    void testGetProductById_StoresProductsMissingFromReplica() {
+        client = newClient(disabledCache(), new ProductReplicaStore(replicaRepository, true, Duration.ofMinutes(15)));
+        Product product = new Product(1L, "Laptop", 1200.0, "Gaming laptop");
+        when(replicaRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productExchange())
+                .thenReturn(ResponseEntity.ok(new ProductResponse(new ProductResponse.ProductData("products", 1L, product))));
+
+        assertEquals("Laptop", client.getProductById(1L).getName());
+        verify(replicaRepository).insertIfAbsent(eq(1L), eq("Laptop"), eq(1200.0), eq("Gaming laptop"), any(Instant.class));
+    }
+
+    @Test
+    void testGetProductById_RefetchesReplicaCopyPastMaxAge() {
+        client = newClient(disabledCache(), new ProductReplicaStore(replicaRepository, true, Duration.ofMinutes(15)));
+        Product product = new Product(1L, "Laptop Pro", 1400.0, "Gaming laptop");
+        when(replicaRepository.findById(1L)).thenReturn(Optional.of(
+                new ProductReplica(1L, "Laptop", 1200.0, "Gaming laptop", Instant.now().minus(Duration.ofHours(1)))));
+        when(replicaRepository.refreshIfStale(eq(1L), anyString(), anyDouble(), anyString(), any(Instant.class), any(Instant.class)))
+                .thenReturn(1);
+        when(productExchange())
+                .thenReturn(ResponseEntity.ok(new ProductResponse(new ProductResponse.ProductData("products", 1L, product))));
+
+        assertEquals("Laptop Pro", client.getProductById(1L).getName());
+        verify(replicaRepository).refreshIfStale(eq(1L), eq("Laptop Pro"), eq(1400.0), eq("Gaming laptop"),
+                any(Instant.class), any(Instant.class));
+        verify(replicaRepository, never()).insertIfAbsent(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testGetProductById_ServesOutdatedReplicaCopyWhenUnavailable() {
+        client = newClient(disabledCache(), new ProductReplicaStore(replicaRepository, true, Duration.ofMinutes(15)));
+        when(replicaRepository.findById(1L)).thenReturn(Optional.of(
+                new ProductReplica(1L, "Laptop", 1200.0, "Gaming laptop", Instant.now().minus(Duration.ofHours(1)))));
+        when(productExchange()).thenThrow(new ResourceAccessException("Connection refused"));
+
+        assertEquals("Laptop", client.getProductById(1L).getName());
+    }
+
+    private ProductCache disabledCache() {
+        return new ProductCache(false, Duration.ofSeconds(30), Duration.ZERO, Duration.ofSeconds(5),
+                100, now::get, Runnable::run);
+    }
+
+    @Test
+    void testGetProductById_RevalidatesExpiredEntryWithETag() {
+        Product product = new Product(1L, "Laptop", 1200.0, "Gaming laptop");
+        when(productExchange())
+                .thenReturn(ResponseEntity.ok()
+                        .eTag("v1")
+                        .body(new ProductResponse(new ProductResponse.ProductData("products", 1L, product))))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("v1").build());
+
+        assertEquals("Laptop", client.getProductById(1L).getName());
+
+        now.set(60_000);
+        assertSame(product, client.getProductById(1L));
+
+        ArgumentCaptor<HttpEntity<?>> requests = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), requests.capture(),
+                eq(ProductResponse.class), any(Object[].class));
+        assertTrue(requests.getAllValues().get(0).getHeaders().getIfNoneMatch().isEmpty());
+        assertEquals(MediaType.APPLICATION_CBOR, requests.getAllValues().get(0).getHeaders().getAccept().get(0));
+        assertEquals(List.of("\"v1\""), requests.getAllValues().get(1).getHeaders().getIfNoneMatch());
+    }
+
+    private ResponseEntity<ProductResponse> productExchange() {
+        return restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(ProductResponse.class), any(Object[].class));
+    }
+}
@@ -0,0 +1,225 @@
+package com.test.linktic.inventoryservice.service.purchase;
+
+import com.test.linktic.inventoryservice.model.Inventory;
+import com.test.linktic.inventoryservice.model.Product;
+import com.test.linktic.inventoryservice.model.ProductReplica;
+import com.test.linktic.inventoryservice.model.PurchaseRequest;
+import com.test.linktic.inventoryservice.repository.InventoryRepository;
+import com.test.linktic.inventoryservice.repository.ProductReplicaRepository;
+import com.test.linktic.inventoryservice.repository.PurchaseRequestRepository;
+import com.test.linktic.inventoryservice.service.client.ProductClient;
+import com.test.linktic.inventoryservice.service.stock.HotStockLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the pipeline against H2. Products come from the replica table, so no lookup
+ * reaches the products-service URL, which points nowhere.
+ */
+@SpringBootTest(properties = {
+        "inventory.async-purchase.enabled=true",
+        "inventory.async-purchase.retry-delay=50ms",
+        "product.replication.enabled=true",
+        "spring.artemis.mode=embedded",
+        "spring.jms.pub-sub-domain=true",
+        "product.service.url=http://localhost:1/api/products",
+        "spring.datasource.url=jdbc:h2:mem:inventory-async-purchase"
+})
+class AsyncPurchasePipelineTest {
+
+    @Autowired
+    private AsyncPurchasePipeline pipeline;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductReplicaRepository replicaRepository;
+
+    @Autowired
+    private PurchaseRequestRepository purchaseRequestRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private void stock(Long productId, Integer quantity) {
+        replicaRepository.save(new ProductReplica(productId, "Product " + productId, 100.0, "Description", Instant.now()));
+        if (quantity != null) {
+            inventoryRepository.save(new Inventory(null, productId, quantity, null));
+        }
+    }
+
+    private PurchaseRequest awaitFinished(PurchaseRequest request) {
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> !pipeline.find(request.getId()).orElseThrow().isPending());
+        return pipeline.find(request.getId()).orElseThrow();
+    }
+
+    @Test
+    void testSubmit_RetryIsAppliedOnlyOnce() {
+        stock(101L, 10);
+
+        PurchaseRequest first = pipeline.submit("retry-1", 101L, 3);
+        PurchaseRequest retry = pipeline.submit("retry-1", 101L, 3);
+
+        assertEquals(first.getId(), retry.getId());
+
+        PurchaseRequest finished = awaitFinished(first);
+        assertEquals(PurchaseRequest.Status.COMPLETED, finished.getStatus());
+        assertEquals("Product 101", finished.getProductName());
+        assertEquals(7, finished.getRemainingStock());
+
+        assertEquals(PurchaseRequest.Status.COMPLETED, pipeline.submit("retry-1", 101L, 3).getStatus());
+        assertEquals(Optional.of(7), inventoryRepository.findQuantityByProductId(101L));
+    }
+
+    @Test
+    void testSubmit_KeyReusedForDifferentPurchase() {
+        stock(102L, 10);
+
+        pipeline.submit("reused-1", 102L, 1);
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> pipeline.submit("reused-1", 102L, 2));
+    }
+
+    @Test
+    void testSubmit_ServesRequestsInArrivalOrderWhenStockRunsOut() {
+        stock(103L, 5);
+
+        PurchaseRequest first = pipeline.submit("order-103-1", 103L, 3);
+        PurchaseRequest second = pipeline.submit("order-103-2", 103L, 3);
+        PurchaseRequest third = pipeline.submit("order-103-3", 103L, 2);
+
+        assertEquals(PurchaseRequest.Status.COMPLETED, awaitFinished(first).getStatus());
+        assertEquals(PurchaseRequest.Status.INSUFFICIENT_STOCK, awaitFinished(second).getStatus());
+        assertEquals(PurchaseRequest.Status.COMPLETED, awaitFinished(third).getStatus());
+        assertEquals(Optional.of(0), inventoryRepository.findQuantityByProductId(103L));
+    }
+
+    @Test
+    void testSubmit_ManyRequestsForOneProductKeepStockExact() {
+        stock(104L, 100);
+
+        List<PurchaseRequest> accepted = IntStream.range(0, 60)
+                .parallel()
+                .mapToObj(i -> pipeline.submit("bulk-104-" + i, 104L, 1))
+                .toList();
+
+        accepted.forEach(request ->
+                assertEquals(PurchaseRequest.Status.COMPLETED, awaitFinished(request).getStatus()));
+        assertEquals(Optional.of(40), inventoryRepository.findQuantityByProductId(104L));
+
+        List<Integer> remaining = accepted.stream()
+                .map(request -> pipeline.find(request.getId()).orElseThrow().getRemainingStock())
+                .sorted()
+                .toList();
+        assertEquals(IntStream.range(40, 100).boxed().toList(), remaining);
+    }
+
+    @Test
+    void testSubmit_ProductWithoutInventory() {
+        stock(105L, null);
+
+        PurchaseRequest request = pipeline.submit("no-inventory-105", 105L, 1);
+
+        assertEquals(PurchaseRequest.Status.NO_INVENTORY, awaitFinished(request).getStatus());
+    }
+
+    @Test
+    void testSubmit_MissingIdempotencyKey() {
+        assertThrows(IllegalArgumentException.class, () -> pipeline.submit(" ", 101L, 1));
+    }
+
+    @Test
+    void testSubmit_QueueFullKeepsRequestAsRejected() {
+        stock(106L, 10);
+        // Never started, so nothing drains its single queue slot.
+        AsyncPurchasePipeline stalled = new AsyncPurchasePipeline(purchaseRequestRepository, inventoryRepository,
+                mock(ProductClient.class), mock(HotStockLedger.class), transactionManager, new SimpleMeterRegistry(),
+                true, 1, 10, Duration.ofHours(1), Duration.ofMillis(50), 3);
+
+        stalled.submit("full-106-1", 106L, 1);
+        assertThrows(PurchaseQueueFullException.class, () -> stalled.submit("full-106-2", 106L, 1));
+
+        Optional<PurchaseRequest> rejected = purchaseRequestRepository.findByIdempotencyKey("full-106-2");
+        assertTrue(rejected.isPresent());
+        assertEquals(PurchaseRequest.Status.REJECTED, rejected.get().getStatus());
+
+        // The retry is queued again, and rejected again while the queue stays full.
+        assertThrows(PurchaseQueueFullException.class, () -> stalled.submit("full-106-2", 106L, 1));
+        assertEquals(PurchaseRequest.Status.REJECTED,
+                purchaseRequestRepository.findByIdempotencyKey("full-106-2").orElseThrow().getStatus());
+    }
+
+    @Test
+    void testWorker_IsolatesRequestThatKeepsFailing() {
+        Instant now = Instant.now();
+        PurchaseRequest poison = new PurchaseRequest(1L, "poison", 7L, 1, PurchaseRequest.Status.PENDING,
+                null, null, now, now);
+        PurchaseRequest healthy = new PurchaseRequest(2L, "healthy", 8L, 1, PurchaseRequest.Status.PENDING,
+                null, null, now, now);
+        Map<Long, PurchaseRequest> stored = Map.of(1L, poison, 2L, healthy);
+
+        PurchaseRequestRepository requests = mock(PurchaseRequestRepository.class);
+        when(requests.findByStatusOrderByIdAsc(PurchaseRequest.Status.PENDING)).thenReturn(List.of(poison, healthy));
+        when(requests.findAllById(anyIterable())).thenAnswer(invocation -> pending(stored, invocation.getArgument(0)));
+        when(requests.findByIdInAndStatus(anyCollection(), eq(PurchaseRequest.Status.PENDING)))
+                .thenAnswer(invocation -> pending(stored, invocation.getArgument(0)));
+        when(requests.transition(eq(1L), eq(PurchaseRequest.Status.PENDING), eq(PurchaseRequest.Status.FAILED), any()))
+                .thenAnswer(invocation -> {
+                    poison.setStatus(PurchaseRequest.Status.FAILED);
+                    return 1;
+                });
+
+        ProductClient productClient = mock(ProductClient.class);
+        when(productClient.getProductsByIds(anyCollection())).thenReturn(Map.of(
+                7L, new Product(7L, "Broken", 10.0, "Description"),
+                8L, new Product(8L, "Fine", 10.0, "Description")));
+
+        InventoryRepository inventories = mock(InventoryRepository.class);
+        when(inventories.decrementQuantity(eq(7L), anyInt())).thenThrow(new IllegalStateException("Row is corrupt"));
+        when(inventories.decrementQuantity(eq(8L), anyInt())).thenReturn(1);
+        when(inventories.findQuantityByProductId(8L)).thenReturn(Optional.of(4));
+
+        AsyncPurchasePipeline isolated = new AsyncPurchasePipeline(requests, inventories, productClient,
+                mock(HotStockLedger.class), mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+                true, 10, 10, Duration.ofHours(1), Duration.ofMillis(10), 2);
+        isolated.start();
+        try {
+            await().atMost(Duration.ofSeconds(10)).until(() -> !healthy.isPending() && !poison.isPending());
+
+            assertEquals(PurchaseRequest.Status.COMPLETED, healthy.getStatus());
+            assertEquals(4, healthy.getRemainingStock());
+            assertEquals(PurchaseRequest.Status.FAILED, poison.getStatus());
+        } finally {
+            isolated.stop();
+        }
+    }
+
+    private static List<PurchaseRequest> pending(Map<Long, PurchaseRequest> stored, Iterable<Long> ids) {
+        List<PurchaseRequest> found = new ArrayList<>();
+        ids.forEach(id -> {
+            PurchaseRequest request = stored.get(id);
+            if (request != null && request.isPending()) {
+                found.add(request);
+            }
+        });
+        return found;
+    }
+}
@@ -0,0 +1,217 @@
+package com.test.linktic.inventoryservice.service.stock;
+
+import com.test.linktic.inventoryservice.model.Inventory;
+import com.test.linktic.inventoryservice.repository.InventoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class HotStockLedgerTest {
+
+    @TempDir
+    Path journalDir;
+
+    @Mock
+    private InventoryRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private Inventory inventory;
+    private HotStockLedger ledger;
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+
+        inventory = new Inventory();
+        inventory.setId(1L);
+        inventory.setProductId(1L);
+        inventory.setQuantity(100);
+
+        when(repository.findQuantityByProductId(1L)).thenAnswer(inv -> Optional.of(inventory.getQuantity()));
+        when(repository.findQuantityByProductId(2L)).thenReturn(Optional.empty());
+        when(repository.findAllByProductIdIn(anyCollection())).thenReturn(List.of(inventory));
+
+        ledger = newLedger();
+        ledger.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ledger.stop();
+        closeable.close();
+    }
+
+    private HotStockLedger newLedger() {
+        return new HotStockLedger(repository, transactionManager, true, journalDir, false,
+                Duration.ofHours(1), 500);
+    }
+
+    @Test
+    void testReserve_DecrementsInMemory() {
+        assertEquals(97, ledger.reserve(1L, 3));
+        assertEquals(Optional.of(97), ledger.getQuantity(1L));
+        assertEquals(100, inventory.getQuantity());
+    }
+
+    @Test
+    void testReserve_InsufficientStock() {
+        assertThrows(IllegalStateException.class, () -> ledger.reserve(1L, 101));
+        assertEquals(Optional.of(100), ledger.getQuantity(1L));
+    }
+
+    @Test
+    void testReserve_NoInventory() {
+        assertThrows(IllegalArgumentException.class, () -> ledger.reserve(2L, 1));
+    }
+
+    @Test
+    void testReserve_NeverOversellsUnderContention() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger sold = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    ledger.reserve(1L, 1);
+                    sold.incrementAndGet();
+                } catch (IllegalStateException ignored) {
+                    // sold out
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(100, sold.get());
+        assertEquals(Optional.of(0), ledger.getQuantity(1L));
+    }
+
+    @Test
+    void testFlush_WritesBackToRepository() {
+        ledger.reserve(1L, 10);
+        ledger.set(1L, 50);
+        ledger.reserve(1L, 5);
+
+        ledger.flush();
+
+        assertEquals(45, inventory.getQuantity());
+        verify(repository).saveAll(List.of(inventory));
+    }
+
+    @Test
+    void testRecovery_ReplaysJournalAfterCrash() {
+        ledger.reserve(1L, 10);
+        ledger.reserve(1L, 15);
+
+        HotStockLedger restarted = newLedger();
+        restarted.start();
+        try {
+            assertEquals(75, inventory.getQuantity());
+            assertEquals(Optional.of(75), restarted.getQuantity(1L));
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    @Test
+    void testReserve_ConcurrentAppendersShareFsyncAndReplayCompletely() throws Exception {
+        ledger.stop();
+        ledger = new HotStockLedger(repository, transactionManager, true, journalDir, true,
+                Duration.ofHours(1), 500);
+        ledger.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            futures.add(executor.submit(() -> ledger.reserve(1L, 1)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        HotStockLedger restarted = newLedger();
+        restarted.start();
+        try {
+            assertEquals(20, inventory.getQuantity());
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    @Test
+    void testReserve_InterruptedAppenderStillCompletesDurably() {
+        ledger.stop();
+        ledger = new HotStockLedger(repository, transactionManager, true, journalDir, true,
+                Duration.ofHours(1), 500);
+        ledger.start();
+
+        Thread.currentThread().interrupt();
+        int remaining;
+        try {
+            remaining = ledger.reserve(1L, 10);
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+        assertEquals(90, remaining);
+        assertEquals(85, ledger.reserve(1L, 5));
+
+        HotStockLedger restarted = newLedger();
+        restarted.start();
+        try {
+            assertEquals(85, inventory.getQuantity());
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    @Test
+    void testSlot_LoadsRowOnlyOnce() {
+        ledger.reserve(1L, 1);
+        ledger.reserve(1L, 1);
+        ledger.getQuantity(1L);
+
+        verify(repository, times(1)).findQuantityByProductId(1L);
+    }
+
+    @Test
+    void testRefresh_AlignsLoadedSlot() {
+        ledger.reserve(1L, 10);
+
+        ledger.refresh(1L, 40);
+
+        assertEquals(Optional.of(40), ledger.getQuantity(1L));
+        assertEquals(39, ledger.reserve(1L, 1));
+    }
+
+    @Test
+    void testRefresh_IgnoresProductWithoutSlot() {
+        ledger.refresh(1L, 40);
+
+        verify(repository, never()).findQuantityByProductId(1L);
+    }
+}
@@ -0,0 +1,145 @@
+package com.test.linktic.inventoryservice.service.stock;
+
+import com.test.linktic.inventoryservice.model.Inventory;
+import com.test.linktic.inventoryservice.repository.InventoryRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Group commits against H2. The window is wide enough that mutations submitted
+ * back to back from the test thread land in the same group.
+ */
+@SpringBootTest(properties = {
+        "inventory.group-commit.enabled=true",
+        "inventory.group-commit.window=100ms",
+        "inventory.group-commit.max-size=50",
+        "spring.datasource.url=jdbc:h2:mem:inventory-group-commit"
+})
+class InventoryGroupCommitterTest {
+
+    @Autowired
+    private InventoryGroupCommitter committer;
+
+    @Autowired
+    private InventoryRepository repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryGroupCommitter newCommitter(Duration window, Duration timeout) {
+        InventoryGroupCommitter standalone = new InventoryGroupCommitter(repository, transactionManager,
+                new SimpleMeterRegistry(), true, window, 50, timeout);
+        standalone.start();
+        return standalone;
+    }
+
+    private DistributionSummary groupSizes() {
+        return meterRegistry.get("inventory.group.commit.size").summary();
+    }
+
+    private static Throwable failure(CompletableFuture<Inventory> future) {
+        return assertThrows(CompletionException.class, future::join).getCause();
+    }
+
+    @Test
+    void testSubmit_AppliesGroupInArrivalOrderWithIndividualResults() {
+        repository.save(new Inventory(null, 201L, 2, null));
+        long groupsBefore = groupSizes().count();
+
+        CompletableFuture<Inventory> first = committer.submitDecrement(201L, 1);
+        CompletableFuture<Inventory> second = committer.submitDecrement(201L, 1);
+        CompletableFuture<Inventory> third = committer.submitDecrement(201L, 1);
+        CompletableFuture<Inventory> restock = committer.submitQuantity(201L, 5);
+        CompletableFuture<Inventory> fourth = committer.submitDecrement(201L, 2);
+        CompletableFuture<Inventory> missing = committer.submitDecrement(299L, 1);
+
+        assertEquals(1, first.join().getQuantity());
+        assertEquals(0, second.join().getQuantity());
+        assertInstanceOf(IllegalStateException.class, failure(third));
+        assertEquals(5, restock.join().getQuantity());
+        assertEquals(3, fourth.join().getQuantity());
+        assertInstanceOf(IllegalArgumentException.class, failure(missing));
+
+        assertEquals(3, repository.findQuantityByProductId(201L).orElseThrow());
+        assertEquals(groupsBefore + 1, groupSizes().count());
+    }
+
+    @Test
+    void testSubmitQuantity_InsertsMissingRowsInTheSameGroup() {
+        CompletableFuture<Inventory> created = committer.submitQuantity(202L, 4);
+        CompletableFuture<Inventory> taken = committer.submitDecrement(202L, 3);
+
+        Inventory row = created.join();
+        assertNotNull(row.getId());
+        assertEquals(4, row.getQuantity());
+        assertEquals(row.getId(), taken.join().getId());
+        assertEquals(1, taken.join().getQuantity());
+        assertEquals(1, repository.findQuantityByProductId(202L).orElseThrow());
+    }
+
+    @Test
+    void testDecrement_ConcurrentCallersShareGroupsWithoutLosingStock() throws Exception {
+        repository.save(new Inventory(null, 203L, 100, null));
+        double maxBefore = groupSizes().max();
+
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        try {
+            List<CompletableFuture<Integer>> purchases = IntStream.range(0, 80)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(
+                            () -> committer.decrement(203L, 1).getQuantity(), callers))
+                    .toList();
+
+            List<Integer> remaining = purchases.stream().map(CompletableFuture::join).sorted().toList();
+
+            assertEquals(IntStream.range(20, 100).boxed().toList(), remaining);
+        } finally {
+            callers.shutdown();
+        }
+
+        assertEquals(20, repository.findQuantityByProductId(203L).orElseThrow());
+        assertTrue(Math.max(maxBefore, groupSizes().max()) > 1);
+    }
+
+    @Test
+    void testSubmit_RejectedAfterStopIsNeverApplied() {
+        repository.save(new Inventory(null, 204L, 10, null));
+        InventoryGroupCommitter standalone = newCommitter(Duration.ofMillis(100), Duration.ofSeconds(5));
+        standalone.stop();
+
+        assertThrows(RejectedExecutionException.class, () -> standalone.submitDecrement(204L, 1));
+
+        assertEquals(10, repository.findQuantityByProductId(204L).orElseThrow());
+    }
+
+    @Test
+    void testDecrement_TimesOutWhenGroupDoesNotCommit() {
+        repository.save(new Inventory(null, 205L, 10, null));
+        InventoryGroupCommitter standalone = newCommitter(Duration.ofHours(1), Duration.ofMillis(50));
+
+        assertThrows(QueryTimeoutException.class, () -> standalone.decrement(205L, 1));
+
+        // Still queued: the final flush on stop applies it.
+        standalone.stop();
+        assertEquals(9, repository.findQuantityByProductId(205L).orElseThrow());
+    }
+}
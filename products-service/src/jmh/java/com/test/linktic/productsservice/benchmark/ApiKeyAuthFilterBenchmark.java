@@ -0,0 +1,51 @@
+package com.test.linktic.productsservice.benchmark;
+
+import com.test.linktic.productsservice.security.ApiKeyAuthFilter;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link ApiKeyAuthFilter} on an authorised request and on a rejected one.
+ * Each invocation uses a fresh request/response pair, as the container would.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ApiKeyAuthFilterBenchmark {
+
+    private final FilterChain chain = (request, response) -> {
+    };
+
+    private ApiKeyAuthFilter filter;
+
+    @Setup
+    public void setUp() {
+        filter = new ApiKeyAuthFilter();
+        ReflectionTestUtils.setField(filter, "apiKey", "SECRET123");
+    }
+
+    @Benchmark
+    public int authorized() throws Exception {
+        return filter("SECRET123");
+    }
+
+    @Benchmark
+    public int rejected() throws Exception {
+        return filter("WRONG");
+    }
+
+    private int filter(String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/1");
+        request.addHeader("X-API-KEY", apiKey);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        return response.getStatus();
+    }
+}
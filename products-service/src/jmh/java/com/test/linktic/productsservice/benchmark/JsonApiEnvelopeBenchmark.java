@@ -0,0 +1,74 @@
+package com.test.linktic.productsservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.linktic.productsservice.model.Product;
+import com.test.linktic.productsservice.model.jsonapi.CollectionDocument;
+import com.test.linktic.productsservice.model.jsonapi.ProductResource;
+import com.test.linktic.productsservice.model.jsonapi.ResourceDocument;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Typed JSON:API documents against the nested {@code Map.of} envelopes they replaced,
+ * both built and serialised per invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonApiEnvelopeBenchmark {
+
+    @Param({"1", "100"})
+    int size;
+
+    private ObjectMapper objectMapper;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        products = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new Product(id, "Product " + id, 10.0 * id, "Description of product " + id))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] mapEnvelopeSingle() throws Exception {
+        Product product = products.get(0);
+        return objectMapper.writeValueAsBytes(Map.of(
+                "data", Map.of(
+                        "type", "product",
+                        "id", product.getId(),
+                        "attributes", product
+                )
+        ));
+    }
+
+    @Benchmark
+    public byte[] typedDocumentSingle() throws Exception {
+        return objectMapper.writeValueAsBytes(new ResourceDocument(new ProductResource(products.get(0))));
+    }
+
+    @Benchmark
+    public byte[] mapEnvelopeList() throws Exception {
+        List<Map<String, Object>> data = products.stream()
+                .map(p -> Map.<String, Object>of(
+                        "type", "product",
+                        "id", p.getId(),
+                        "attributes", p
+                ))
+                .toList();
+        return objectMapper.writeValueAsBytes(Map.of("data", data));
+    }
+
+    @Benchmark
+    public byte[] typedDocumentList() throws Exception {
+        return objectMapper.writeValueAsBytes(new CollectionDocument(products.stream()
+                .map(ProductResource::new)
+                .toList()));
+    }
+}
@@ -0,0 +1,106 @@
+package com.test.linktic.productsservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.linktic.productsservice.controller.ProductController;
+import com.test.linktic.productsservice.model.Product;
+import com.test.linktic.productsservice.model.jsonapi.JsonApiDocument;
+import com.test.linktic.productsservice.service.ProductPage;
+import com.test.linktic.productsservice.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Response building in {@link ProductController}: the JSON:API document on its own,
+ * and the document serialised by Jackson the way Spring MVC writes it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductControllerBenchmark {
+
+    private ProductController controller;
+    private ObjectMapper objectMapper;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        product = new Product(1L, "Laptop", 2500.0, "Gaming laptop with 32GB RAM");
+
+        ProductService service = new ProductService(null, null) {
+            @Override
+            public Optional<Product> findById(Long id) {
+                return Optional.of(product);
+            }
+        };
+        controller = new ProductController(service, objectMapper, 100, 1000);
+    }
+
+    @Benchmark
+    public JsonApiDocument getProductByIdEnvelope() {
+        return controller.getProductById(1L).getBody();
+    }
+
+    @Benchmark
+    public byte[] getProductByIdJson() throws Exception {
+        return objectMapper.writeValueAsBytes(controller.getProductById(1L).getBody());
+    }
+
+    @Benchmark
+    public JsonApiDocument getAllProductsEnvelope(Listing listing) {
+        return listing.controller.getProductsPage(null, listing.pageSize).getBody();
+    }
+
+    @Benchmark
+    public byte[] getAllProductsJson(Listing listing) throws Exception {
+        return objectMapper.writeValueAsBytes(listing.controller.getProductsPage(null, listing.pageSize).getBody());
+    }
+
+    @Benchmark
+    public byte[] productJson() throws Exception {
+        return objectMapper.writeValueAsBytes(product);
+    }
+
+    /**
+     * One page of {@code pageSize} products served by {@link ProductController#getProductsPage}.
+     */
+    @State(Scope.Thread)
+    public static class Listing {
+
+        @Param({"1", "100"})
+        int pageSize;
+
+        ProductController controller;
+
+        @Setup
+        public void setUp() {
+            List<Product> page = LongStream.rangeClosed(1, pageSize)
+                    .mapToObj(id -> new Product(id, "Product " + id, 10.0 * id, "Description of product " + id))
+                    .toList();
+
+            ProductService service = new ProductService(null, null) {
+                @Override
+                public ProductPage findPage(Long after, int size) {
+                    return new ProductPage(page, null);
+                }
+            };
+            controller = new ProductController(service, Jackson2ObjectMapperBuilder.json().build(), pageSize, 1000);
+
+            RequestContextHolder.setRequestAttributes(
+                    new ServletRequestAttributes(new MockHttpServletRequest("GET", "/api/products")));
+        }
+
+        @TearDown
+        public void tearDown() {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
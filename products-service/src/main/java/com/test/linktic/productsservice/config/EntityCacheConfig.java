@@ -0,0 +1,66 @@
+package com.test.linktic.productsservice.config;
+
+import com.test.linktic.productsservice.model.Product;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for {@code Product}, held in a bounded, expiring Ehcache
+ * heap cache. Hibernate keeps it in step with writes made through JPA; hit and miss
+ * counts are published as {@code hibernate.second.level.cache.requests}.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    /**
+     * Each application context gets its own cache manager, so contexts sharing a JVM
+     * (tests, benchmarks) never see each other's entities.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "product.entity-cache.enabled", havingValue = "true")
+    public CacheManager entityCacheManager(@Value("${product.entity-cache.max-entries:10000}") long maxEntries,
+                                           @Value("${product.entity-cache.ttl:10m}") Duration ttl) {
+        EhcacheCachingProvider provider =
+                (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+
+        return provider.getCacheManager(
+                URI.create("urn:products-service:entity-cache:" + UUID.randomUUID()),
+                ConfigurationBuilder.newConfigurationBuilder()
+                        .withCache(Product.CACHE_REGION, CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                                        Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl)))
+                        .build());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheProperties(ObjectProvider<CacheManager> entityCacheManager) {
+        return properties -> {
+            CacheManager cacheManager = entityCacheManager.getIfAvailable();
+
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, cacheManager != null);
+            if (cacheManager != null) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+                properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.test.linktic.productsservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.linktic.productsservice.event.ProductChangedEvent;
+import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jms.artemis.ArtemisConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jms.support.converter.MappingJackson2MessageConverter;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.jms.support.converter.MessageType;
+
+import java.util.Map;
+
+/**
+ * Embedded Artemis broker carrying product change events. Besides the in-VM
+ * acceptor Spring Boot sets up, it listens on TCP so inventory-service can subscribe.
+ */
+@Configuration
+public class MessagingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "product.events.enabled", havingValue = "true")
+    public ArtemisConfigurationCustomizer productEventsAcceptor(
+            @Value("${product.events.broker.host:localhost}") String host,
+            @Value("${product.events.broker.port:61616}") int port) {
+        return configuration -> {
+            try {
+                configuration.addAcceptorConfiguration("tcp", "tcp://" + host + ":" + port
+                        + "?" + TransportConstants.PROTOCOLS_PROP_NAME + "=CORE");
+            } catch (Exception e) {
+                throw new IllegalStateException("Invalid product events broker address " + host + ":" + port, e);
+            }
+        };
+    }
+
+    @Bean
+    public MessageConverter productEventConverter(ObjectMapper objectMapper) {
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        converter.setTargetType(MessageType.TEXT);
+        converter.setTypeIdPropertyName("_type");
+        converter.setTypeIdMappings(Map.of("product-changed", ProductChangedEvent.class));
+        return converter;
+    }
+}
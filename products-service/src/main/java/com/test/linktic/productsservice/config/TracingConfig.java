@@ -0,0 +1,73 @@
+package com.test.linktic.productsservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.linktic.productsservice.tracing.FileSpanExporter;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * Span export and repository spans. Server spans for the controllers and client spans
+ * for outbound calls come from Spring Boot's HTTP observations, service spans from
+ * {@code @Observed} and JDBC spans from datasource-micrometer.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Exports spans to {@code <application>-<pid>.jsonl} in {@code tracing.export.directory},
+     * one file per process, so instances sharing the directory never interleave lines.
+     */
+    @Bean
+    @ConditionalOnProperty("tracing.export.directory")
+    public FileSpanExporter fileSpanExporter(@Value("${tracing.export.directory}") Path directory,
+                                             @Value("${spring.application.name}") String applicationName,
+                                             ObjectMapper objectMapper) throws IOException {
+        return new FileSpanExporter(directory.resolve(applicationName + "-" + ProcessHandle.current().pid() + ".jsonl"),
+                objectMapper);
+    }
+
+    /**
+     * Wraps every Spring Data repository call in a {@code repository} observation, so
+     * its span sits between the service span and the JDBC spans of the queries it runs.
+     * The advice goes first so the span also covers the repository's own transaction.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryObservationPostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistryProvider) {
+        Supplier<ObservationRegistry> observationRegistry =
+                SingletonSupplier.of(() -> observationRegistryProvider.getIfAvailable(() -> ObservationRegistry.NOOP));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repository) -> proxyFactory.addAdvice(0, observe(
+                                    repository.getRepositoryInterface().getSimpleName(), observationRegistry))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor observe(String repository, Supplier<ObservationRegistry> observationRegistry) {
+        return invocation -> Observation.createNotStarted("repository", observationRegistry.get())
+                .contextualName(repository + "#" + invocation.getMethod().getName())
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", invocation.getMethod().getName())
+                .observeChecked(invocation::proceed);
+    }
+}
@@ -1,67 +1,194 @@
 package com.test.linktic.productsservice.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.test.linktic.productsservice.model.Product;
+import com.test.linktic.productsservice.model.jsonapi.CollectionDocument;
+import com.test.linktic.productsservice.model.jsonapi.ErrorDocument;
+import com.test.linktic.productsservice.model.jsonapi.JsonApiDocument;
+import com.test.linktic.productsservice.model.jsonapi.ProductResource;
+import com.test.linktic.productsservice.model.jsonapi.ResourceDocument;
+import com.test.linktic.productsservice.service.ProductPage;
 import com.test.linktic.productsservice.service.ProductService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
+    private static final int MAX_BATCH_IDS = 500;
+    private static final int MAX_BULK_PRODUCTS = 5000;
+
     private final ProductService service;
+    private final ObjectMapper objectMapper;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    public ProductController(ProductService service) {
+    public ProductController(ProductService service,
+                             ObjectMapper objectMapper,
+                             @Value("${product.listing.default-page-size:100}") int defaultPageSize,
+                             @Value("${product.listing.max-page-size:1000}") int maxPageSize) {
         this.service = service;
+        this.objectMapper = objectMapper;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createProduct(@RequestBody Product product) {
+    public ResponseEntity<JsonApiDocument> createProduct(@RequestBody Product product) {
         Product saved = service.save(product);
 
-        Map<String, Object> response = Map.of(
-                "data", Map.of(
-                        "type", "product",
-                        "id", saved.getId(),
-                        "attributes", saved
-                )
-        );
+        return ResponseEntity.ok(new ResourceDocument(new ProductResource(saved)));
+    }
+
+    /**
+     * Creates up to {@value #MAX_BULK_PRODUCTS} products in one transaction.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<JsonApiDocument> createProducts(@RequestBody List<Product> products) {
+        if (products.size() > MAX_BULK_PRODUCTS) {
+            return ResponseEntity.status(400).body(ErrorDocument.of(
+                    400,
+                    "Too many products",
+                    "A bulk create accepts at most " + MAX_BULK_PRODUCTS + " products"
+            ));
+        }
 
-        return ResponseEntity.ok(response);
+        List<ProductResource> created = service.createAll(products).stream()
+                .map(ProductResource::new)
+                .toList();
+
+        return ResponseEntity.ok(new CollectionDocument(created));
     }
 
+    /**
+     * Returns the product with an ETag derived from its fields. A request whose
+     * {@code If-None-Match} still matches gets a 304 without a body. The ETag is weak:
+     * the JSON and CBOR representations carry the same fields but not the same bytes.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getProductById(@PathVariable Long id) {
+    public ResponseEntity<JsonApiDocument> getProductById(@PathVariable Long id) {
         return service.findById(id)
-                .map(product -> ResponseEntity.ok(Map.<String, Object>of(
-                        "data", Map.of(
-                                "type", "product",
-                                "id", product.getId(),
-                                "attributes", product
-                        )
-                )))
-                .orElseGet(() -> ResponseEntity.status(404).body(Map.of(
-                        "errors", List.of(Map.of(
-                                "status", "404",
-                                "title", "Product not found",
-                                "detail", "The product with the id: " + id + " does not exist "
-                        ))
+                .map(product -> ResponseEntity.ok()
+                        .eTag(eTag(product))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .<JsonApiDocument>body(new ResourceDocument(new ProductResource(product))))
+                .orElseGet(() -> ResponseEntity.status(404).body(ErrorDocument.of(
+                        404,
+                        "Product not found",
+                        "The product with the id: " + id + " does not exist "
                 )));
     }
 
+    /**
+     * Without paging parameters the listing returns the whole catalogue, as it did before
+     * pagination existed. The document is streamed like {@link #streamAllProducts()}.
+     */
+    @GetMapping(params = {"!after", "!size", "!ids"})
+    public ResponseEntity<StreamingResponseBody> getAllProducts() {
+        return streamAllProducts();
+    }
+
+    /**
+     * Lists products in id order, one page at a time, once {@code after} or {@code size}
+     * is given. Pass the {@code meta.page.nextCursor} of a page as {@code after} to get the next one.
+     */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllProducts() {
-        List<Map<String, Object>> products = service.findAll().stream()
-                .map(p -> Map.of(
-                        "type", "product",
-                        "id", p.getId(),
-                        "attributes", p
-                ))
+    public ResponseEntity<JsonApiDocument> getProductsPage(@RequestParam(required = false) Long after,
+                                                           @RequestParam(required = false) Integer size) {
+        int pageSize = size != null ? size : defaultPageSize;
+
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            return ResponseEntity.status(400).body(ErrorDocument.of(
+                    400,
+                    "Invalid page size",
+                    "The page size must be between 1 and " + maxPageSize
+            ));
+        }
+
+        ProductPage page = service.findPage(after, pageSize);
+
+        List<ProductResource> products = page.products().stream()
+                .map(ProductResource::new)
+                .toList();
+
+        String next = page.hasNext()
+                ? ServletUriComponentsBuilder.fromCurrentRequest()
+                        .replaceQueryParam("after", page.nextCursor())
+                        .replaceQueryParam("size", pageSize)
+                        .toUriString()
+                : null;
+
+        return ResponseEntity.ok(new CollectionDocument(products, new CollectionDocument.Page(
+                pageSize,
+                page.nextCursor(),
+                ServletUriComponentsBuilder.fromCurrentRequest().toUriString(),
+                next
+        )));
+    }
+
+    /**
+     * Writes the whole catalogue as one JSON:API document, row by row, straight from
+     * a database cursor. Memory use does not depend on the number of products.
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllProducts() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("data");
+
+                service.forEachProduct(product -> {
+                    try {
+                        new ProductResource(product).write(generator);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<JsonApiDocument> getProductsByIds(@RequestParam List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+
+        if (distinctIds.size() > MAX_BATCH_IDS) {
+            return ResponseEntity.status(400).body(ErrorDocument.of(
+                    400,
+                    "Too many ids",
+                    "A batch lookup accepts at most " + MAX_BATCH_IDS + " ids"
+            ));
+        }
+
+        List<ProductResource> products = service.findAllById(distinctIds).stream()
+                .map(ProductResource::new)
                 .toList();
 
-        return ResponseEntity.ok(Map.of("data", products));
+        return ResponseEntity.ok(new CollectionDocument(products));
+    }
+
+    private static String eTag(Product product) {
+        String fields = product.getId() + "\0" + product.getName() + "\0" + product.getPrice() + "\0" + product.getDescription();
+        return "W/\"" + DigestUtils.md5DigestAsHex(fields.getBytes(StandardCharsets.UTF_8)) + "\"";
     }
 }
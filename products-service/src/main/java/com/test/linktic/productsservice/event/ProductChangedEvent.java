@@ -0,0 +1,13 @@
+package com.test.linktic.productsservice.event;
+
+import com.test.linktic.productsservice.model.Product;
+
+/**
+ * A product was created or updated. Carries the fields other services replicate.
+ */
+public record ProductChangedEvent(Long id, String name, Double price, String description) {
+
+    public static ProductChangedEvent of(Product product) {
+        return new ProductChangedEvent(product.getId(), product.getName(), product.getPrice(), product.getDescription());
+    }
+}
@@ -0,0 +1,39 @@
+package com.test.linktic.productsservice.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Forwards committed product changes to the {@code product.events.topic} topic of the
+ * embedded broker, where inventory-service keeps its product replica up to date.
+ * A failed publish is not retried: inventory-service refetches replica rows older than
+ * {@code product.replication.max-age}, which bounds how long a lost event goes unnoticed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "product.events.enabled", havingValue = "true")
+public class ProductEventPublisher {
+
+    private final JmsTemplate jmsTemplate;
+    private final String topic;
+
+    public ProductEventPublisher(JmsTemplate jmsTemplate,
+                                 @Value("${product.events.topic:product.changed}") String topic) {
+        this.jmsTemplate = jmsTemplate;
+        this.topic = topic;
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        try {
+            jmsTemplate.convertAndSend(topic, event);
+        } catch (JmsException e) {
+            log.error("Could not publish change of product {}; replicas keep the previous copy until it exceeds their max age", event.id(), e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.test.linktic.productsservice.migration;
+
+import com.test.linktic.productsservice.model.Product;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Replaces the identity column of {@code product} with {@code product_seq}. The sequence
+ * starts one allocation block above the highest existing id, since Hibernate's pooled
+ * optimizer hands out the block that ends at the value it reads.
+ */
+public class V2__UseSequenceIds extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet result = statement.executeQuery("select coalesce(max(id), 0) from product")) {
+                result.next();
+                maxId = result.getLong(1);
+            }
+
+            statement.execute("alter table product alter column id drop identity");
+            statement.execute("create sequence product_seq start with " + (maxId + Product.ID_ALLOCATION_SIZE)
+                    + " increment by " + Product.ID_ALLOCATION_SIZE);
+        }
+    }
+}
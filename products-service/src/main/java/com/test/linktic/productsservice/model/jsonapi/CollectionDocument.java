@@ -0,0 +1,58 @@
+package com.test.linktic.productsservice.model.jsonapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Document whose primary data is a list of resources, optionally one page of a
+ * keyset-paginated listing.
+ */
+public record CollectionDocument(List<? extends Resource> data, Page page) implements JsonApiDocument {
+
+    public CollectionDocument(List<? extends Resource> data) {
+        this(data, null);
+    }
+
+    @Override
+    public void write(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("data");
+        for (Resource resource : data) {
+            resource.write(generator);
+        }
+        generator.writeEndArray();
+
+        if (page != null) {
+            page.write(generator);
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Pagination details: written as {@code meta.page} and {@code links}.
+     * {@code nextCursor} and {@code next} are {@code null} on the last page.
+     */
+    public record Page(int size, Long nextCursor, String self, String next) {
+
+        void write(JsonGenerator generator) throws IOException {
+            generator.writeObjectFieldStart("meta");
+            generator.writeObjectFieldStart("page");
+            generator.writeNumberField("size", size);
+            generator.writeBooleanField("hasNext", nextCursor != null);
+            if (nextCursor != null) {
+                generator.writeNumberField("nextCursor", nextCursor.longValue());
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+
+            generator.writeObjectFieldStart("links");
+            generator.writeStringField("self", self);
+            if (next != null) {
+                generator.writeStringField("next", next);
+            }
+            generator.writeEndObject();
+        }
+    }
+}
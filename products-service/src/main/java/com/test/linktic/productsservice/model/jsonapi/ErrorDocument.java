@@ -0,0 +1,34 @@
+package com.test.linktic.productsservice.model.jsonapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Document carrying one or more JSON:API error objects.
+ */
+public record ErrorDocument(List<Error> errors) implements JsonApiDocument {
+
+    public static ErrorDocument of(int status, String title, String detail) {
+        return new ErrorDocument(List.of(new Error(String.valueOf(status), title, detail)));
+    }
+
+    @Override
+    public void write(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("errors");
+        for (Error error : errors) {
+            generator.writeStartObject();
+            generator.writeStringField("status", error.status());
+            generator.writeStringField("title", error.title());
+            generator.writeStringField("detail", error.detail());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    public record Error(String status, String title, String detail) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.test.linktic.productsservice.model.jsonapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Top-level JSON:API document returned by the controllers. Every document writes
+ * itself field by field with a {@link JsonGenerator}, so responses are produced
+ * without intermediate maps or reflective bean lookups.
+ */
+@JsonSerialize(using = JsonApiDocument.Serializer.class)
+public sealed interface JsonApiDocument permits ResourceDocument, CollectionDocument, ErrorDocument {
+
+    void write(JsonGenerator generator) throws IOException;
+
+    class Serializer extends StdSerializer<JsonApiDocument> {
+
+        public Serializer() {
+            super(JsonApiDocument.class);
+        }
+
+        @Override
+        public void serialize(JsonApiDocument document, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            document.write(generator);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.test.linktic.productsservice.model.jsonapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Null-aware field writers matching what Jackson emits for boxed numbers.
+ */
+final class JsonFields {
+
+    private JsonFields() {
+    }
+
+    static void writeNumberField(JsonGenerator generator, String name, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value.longValue());
+        }
+    }
+
+    static void writeNumberField(JsonGenerator generator, String name, Double value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value.doubleValue());
+        }
+    }
+}
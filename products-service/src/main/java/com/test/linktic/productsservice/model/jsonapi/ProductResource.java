@@ -0,0 +1,29 @@
+package com.test.linktic.productsservice.model.jsonapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.test.linktic.productsservice.model.Product;
+
+import java.io.IOException;
+
+public record ProductResource(Product product) implements Resource {
+
+    @Override
+    public String type() {
+        return "product";
+    }
+
+    @Override
+    public Long id() {
+        return product.getId();
+    }
+
+    @Override
+    public void writeAttributes(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        JsonFields.writeNumberField(generator, "id", product.getId());
+        generator.writeStringField("name", product.getName());
+        JsonFields.writeNumberField(generator, "price", product.getPrice());
+        generator.writeStringField("description", product.getDescription());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,26 @@
+package com.test.linktic.productsservice.model.jsonapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * A JSON:API resource object: {@code type}, {@code id} and {@code attributes}.
+ */
+public interface Resource {
+
+    String type();
+
+    Long id();
+
+    void writeAttributes(JsonGenerator generator) throws IOException;
+
+    default void write(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", type());
+        JsonFields.writeNumberField(generator, "id", id());
+        generator.writeFieldName("attributes");
+        writeAttributes(generator);
+        generator.writeEndObject();
+    }
+}
@@ -1,7 +1,32 @@
 package com.test.linktic.productsservice.repository;
 
 import com.test.linktic.productsservice.model.Product;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Streams every product in id order. Rows are built with a constructor expression,
+     * so they never enter the persistence context and memory stays flat while iterating.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @Query("select new com.test.linktic.productsservice.model.Product(p.id, p.name, p.price, p.description) "
+            + "from Product p order by p.id")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Product> streamAllOrderById();
 }
@@ -0,0 +1,16 @@
+package com.test.linktic.productsservice.service;
+
+import com.test.linktic.productsservice.model.Product;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is the id to pass as
+ * {@code after} for the following page, or {@code null} on the last page.
+ */
+public record ProductPage(List<Product> products, Long nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -1,30 +1,84 @@
 package com.test.linktic.productsservice.service;
 
+import com.test.linktic.productsservice.event.ProductChangedEvent;
 import com.test.linktic.productsservice.model.Product;
 import com.test.linktic.productsservice.repository.ProductRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Observed(name = "product.service")
 public class ProductService {
 
     private final ProductRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ProductService(ProductRepository repository) {
+    public ProductService(ProductRepository repository, ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
+        this.eventPublisher = eventPublisher;
     }
 
+    /**
+     * Saves the product and announces the change; the event is sent to subscribers
+     * only once the transaction commits.
+     */
+    @Transactional
     public Product save(Product product) {
-        return repository.save(product);
+        Product saved = repository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(saved));
+        return saved;
+    }
+
+    /**
+     * Inserts the products as new rows, ignoring any id they carry, and announces each
+     * one after commit. Sequence ids let Hibernate send the inserts in JDBC batches.
+     */
+    @Transactional
+    public List<Product> createAll(List<Product> products) {
+        products.forEach(product -> product.setId(null));
+
+        List<Product> saved = repository.saveAll(products);
+        saved.forEach(product -> eventPublisher.publishEvent(ProductChangedEvent.of(product)));
+        return saved;
     }
 
     public Optional<Product> findById(Long id) {
         return repository.findById(id);
     }
 
-    public List<Product> findAll() {
-        return repository.findAll();
+    public List<Product> findAllById(List<Long> ids) {
+        return repository.findAllById(ids);
+    }
+
+    /**
+     * Returns up to {@code size} products with an id greater than {@code after}, in id order.
+     * Reads one extra row to tell whether another page follows.
+     */
+    public ProductPage findPage(Long after, int size) {
+        List<Product> rows = repository.findByIdGreaterThanOrderByIdAsc(after != null ? after : 0L, Limit.of(size + 1));
+
+        if (rows.size() > size) {
+            List<Product> page = rows.subList(0, size);
+            return new ProductPage(page, page.get(size - 1).getId());
+        }
+        return new ProductPage(rows, null);
+    }
+
+    /**
+     * Hands every product to {@code action} in id order without holding the catalogue in memory.
+     */
+    @Transactional(readOnly = true)
+    public void forEachProduct(Consumer<Product> action) {
+        try (Stream<Product> products = repository.streamAllOrderById()) {
+            products.forEach(action);
+        }
     }
 }
@@ -0,0 +1,6 @@
+create table product (
+    id          bigint generated by default as identity primary key,
+    name        varchar(255),
+    price       double precision,
+    description varchar(255)
+);
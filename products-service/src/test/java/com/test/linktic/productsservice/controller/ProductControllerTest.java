@@ -2,6 +2,7 @@ package com.test.linktic.productsservice.controller;
 
 import com.test.linktic.productsservice.model.Product;
 import com.test.linktic.productsservice.security.ApiKeyAuthFilter;
+import com.test.linktic.productsservice.service.ProductPage;
 import com.test.linktic.productsservice.service.ProductService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -13,10 +14,17 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -56,6 +64,39 @@ public class ProductControllerTest {
                 .andExpect(jsonPath("$.data.attributes.description").value("Gaming"));
     }
 
+    @Test
+    void shouldAnswerMatchingIfNoneMatchWithNotModified() throws Exception {
+        Product product = new Product(1L, "Laptop", 2500.0, "Gaming");
+        Mockito.when(service.findById(1L)).thenReturn(Optional.of(product));
+
+        String eTag = mockMvc.perform(get("/api/products/1")
+                        .header("X-API-KEY", "SECRET123"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/products/1")
+                        .header("X-API-KEY", "SECRET123")
+                        .header("Accept", "application/cbor")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/products/1")
+                        .header("X-API-KEY", "SECRET123")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+
+        product.setPrice(2300.0);
+
+        mockMvc.perform(get("/api/products/1")
+                        .header("X-API-KEY", "SECRET123")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.attributes.price").value(2300.0));
+    }
+
     @Test
     void shouldReturn404IfNotFound() throws Exception {
         Mockito.when(service.findById(1L)).thenReturn(Optional.empty());
@@ -86,4 +127,141 @@ public class ProductControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.attributes.name").value("Mouse"));
     }
+
+    @Test
+    void shouldCreateProductsInBulk() throws Exception {
+        Mockito.when(service.createAll(any())).thenReturn(List.of(
+                new Product(1L, "Laptop", 2500.0, "Gaming"),
+                new Product(2L, "Mouse", 50.0, "Mouse gamer")
+        ));
+
+        String json = """
+                [
+                    {"name": "Laptop", "price": 2500.0, "description": "Gaming"},
+                    {"name": "Mouse", "price": 50.0, "description": "Mouse gamer"}
+                ]
+                """;
+
+        mockMvc.perform(post("/api/products/bulk")
+                        .header("X-API-KEY", "SECRET123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[1].id").value(2));
+    }
+
+    @Test
+    void shouldReturnProductsByIds() throws Exception {
+        Mockito.when(service.findAllById(List.of(1L, 2L))).thenReturn(List.of(
+                new Product(1L, "Laptop", 2500.0, "Gaming"),
+                new Product(2L, "Mouse", 50.0, "Mouse gamer")
+        ));
+
+        mockMvc.perform(get("/api/products")
+                        .param("ids", "1,2,1")
+                        .header("X-API-KEY", "SECRET123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[1].attributes.name").value("Mouse"));
+    }
+
+    @Test
+    void shouldRejectTooManyIds() throws Exception {
+        String ids = String.join(",", LongStream.rangeClosed(1, 501)
+                .mapToObj(String::valueOf)
+                .toList());
+
+        mockMvc.perform(get("/api/products")
+                        .param("ids", ids)
+                        .header("X-API-KEY", "SECRET123"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].title").value("Too many ids"));
+    }
+
+    @Test
+    void shouldReturnFirstPageWithNextCursor() throws Exception {
+        Mockito.when(service.findPage(null, 2)).thenReturn(new ProductPage(List.of(
+                new Product(1L, "Laptop", 2500.0, "Gaming"),
+                new Product(2L, "Mouse", 50.0, "Mouse gamer")
+        ), 2L));
+
+        mockMvc.perform(get("/api/products")
+                        .param("size", "2")
+                        .header("X-API-KEY", "SECRET123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.meta.page.hasNext").value(true))
+                .andExpect(jsonPath("$.meta.page.nextCursor").value(2))
+                .andExpect(jsonPath("$.links.next").value("http://localhost/api/products?after=2&size=2"));
+    }
+
+    @Test
+    void shouldReturnLastPageWithoutNextCursor() throws Exception {
+        Mockito.when(service.findPage(2L, 100)).thenReturn(new ProductPage(List.of(
+                new Product(3L, "Keyboard", 80.0, "Mechanical")
+        ), null));
+
+        mockMvc.perform(get("/api/products")
+                        .param("after", "2")
+                        .header("X-API-KEY", "SECRET123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(3))
+                .andExpect(jsonPath("$.meta.page.hasNext").value(false))
+                .andExpect(jsonPath("$.meta.page.nextCursor").doesNotExist())
+                .andExpect(jsonPath("$.links.next").doesNotExist());
+    }
+
+    @Test
+    void shouldRejectInvalidPageSize() throws Exception {
+        mockMvc.perform(get("/api/products")
+                        .param("size", "1001")
+                        .header("X-API-KEY", "SECRET123"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].title").value("Invalid page size"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldListWholeCatalogueWithoutPageParameters() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            Consumer<Product> action = invocation.getArgument(0);
+            action.accept(new Product(1L, "Laptop", 2500.0, "Gaming"));
+            action.accept(new Product(2L, "Mouse", 50.0, "Mouse gamer"));
+            return null;
+        }).when(service).forEachProduct(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/products")
+                        .header("X-API-KEY", "SECRET123"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.meta").doesNotExist());
+        Mockito.verify(service, Mockito.never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamAllProducts() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            Consumer<Product> action = invocation.getArgument(0);
+            action.accept(new Product(1L, "Laptop", 2500.0, "Gaming"));
+            action.accept(new Product(2L, "Mouse", 50.0, "Mouse gamer"));
+            return null;
+        }).when(service).forEachProduct(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/products/stream")
+                        .header("X-API-KEY", "SECRET123"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].type").value("product"))
+                .andExpect(jsonPath("$.data[1].attributes.name").value("Mouse"));
+    }
 }
@@ -0,0 +1,45 @@
+package com.test.linktic.productsservice.integration;
+
+import com.test.linktic.productsservice.model.Product;
+import com.test.linktic.productsservice.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:products-bulk",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ProductBulkInsertIntegrationTest {
+
+    @Autowired
+    private ProductService service;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void shouldInsertProductsInJdbcBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Product> products = IntStream.rangeClosed(1, 1000)
+                .mapToObj(i -> new Product(null, "Product " + i, (double) i, "Bulk"))
+                .toList();
+
+        List<Product> saved = service.createAll(products);
+
+        assertThat(saved).extracting(Product::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1000);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(50);
+    }
+}
@@ -0,0 +1,64 @@
+package com.test.linktic.productsservice.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.test.linktic.productsservice.model.Product;
+import com.test.linktic.productsservice.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:products-negotiation")
+class ProductContentNegotiationIntegrationTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductService service;
+
+    @Test
+    void shouldAnswerInCborWhenAsked() throws Exception {
+        Product product = service.save(new Product(null, "Laptop", 2500.0, "Gaming"));
+
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/products/" + product.getId()))
+                .header("X-API-KEY", "SECRET123")
+                .header("Accept", "application/cbor")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValue("application/cbor");
+
+        JsonNode document = new CBORMapper().readTree(response.body());
+        assertThat(document.at("/data/attributes/name").asText()).isEqualTo("Laptop");
+    }
+
+    @Test
+    void shouldGzipLargeListResponses() throws Exception {
+        service.createAll(IntStream.rangeClosed(1, 100)
+                .mapToObj(i -> new Product(null, "Product " + i, (double) i, "Bulk"))
+                .toList());
+
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/products?size=100"))
+                .header("X-API-KEY", "SECRET123")
+                .header("Accept-Encoding", "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+    }
+}
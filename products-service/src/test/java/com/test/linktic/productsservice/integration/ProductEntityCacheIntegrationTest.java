@@ -0,0 +1,46 @@
+package com.test.linktic.productsservice.integration;
+
+import com.test.linktic.productsservice.model.Product;
+import com.test.linktic.productsservice.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:products-entity-cache")
+class ProductEntityCacheIntegrationTest {
+
+    @Autowired
+    private ProductService service;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldServeRepeatedReadsFromCacheAndSeeUpdates() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Product product = service.save(new Product(null, "Laptop", 2500.0, "Gaming"));
+        statistics.clear();
+
+        assertThat(service.findById(product.getId())).hasValueSatisfying(p -> assertThat(p.getName()).isEqualTo("Laptop"));
+        assertThat(service.findById(product.getId())).isPresent();
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        service.save(new Product(product.getId(), "Laptop Pro", 2800.0, "Gaming"));
+
+        assertThat(service.findById(product.getId())).hasValueSatisfying(p -> assertThat(p.getName()).isEqualTo("Laptop Pro"));
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", Product.CACHE_REGION, "result", "hit")
+                .functionCounter().count()).isGreaterThanOrEqualTo(3);
+    }
+}
@@ -9,9 +9,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -37,4 +40,29 @@ class ProductIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.attributes.name").value("Laptop"));
     }
+
+    @Test
+    void shouldPageThroughProducts() throws Exception {
+        repository.save(new Product(null, "Mouse", 50.0, "Mouse gamer"));
+
+        mockMvc.perform(get("/api/products")
+                        .param("size", "1")
+                        .header("X-API-KEY", "SECRET123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.meta.page.hasNext").value(true));
+    }
+
+    @Test
+    void shouldStreamProductsFromDatabase() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/products/stream")
+                        .header("X-API-KEY", "SECRET123"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].type").value("product"))
+                .andExpect(jsonPath("$.data[0].attributes.name").value("Laptop"));
+    }
 }
@@ -0,0 +1,46 @@
+package com.test.linktic.productsservice.integration;
+
+import com.test.linktic.productsservice.model.Product;
+import com.test.linktic.productsservice.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class ProductMetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Test
+    void shouldExposeEndpointAndRepositoryHistogramsForPrometheus() throws Exception {
+        Product product = repository.save(new Product(null, "Laptop", 2500.0, "Gaming"));
+
+        mockMvc.perform(get("/api/products/" + product.getId())
+                        .header("X-API-KEY", "SECRET123"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/products/999999")
+                        .header("X-API-KEY", "SECRET123"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("status=\"404\",uri=\"/api/products/{id}\"")))
+                .andExpect(content().string(containsString(
+                        "spring_data_repository_invocations_seconds_bucket{exception=\"None\",method=\"findById\",repository=\"ProductRepository\"")));
+    }
+}
@@ -0,0 +1,87 @@
+package com.test.linktic.productsservice.integration;
+
+import com.test.linktic.productsservice.model.Product;
+import com.test.linktic.productsservice.repository.ProductRepository;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Import(ProductTracingIntegrationTest.InMemoryExporterConfig.class)
+class ProductTracingIntegrationTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Test
+    void shouldContinueIncomingTraceThroughServiceRepositoryAndJdbc() throws Exception {
+        Product product = repository.save(new Product(null, "Laptop", 2500.0, "Gaming"));
+        spanExporter.reset();
+
+        mockMvc.perform(get("/api/products/" + product.getId())
+                        .header("X-API-KEY", "SECRET123")
+                        .header("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01"))
+                .andExpect(status().isOk());
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(spans()).containsKeys("http get /api/products/{id}", "product-service#find-by-id",
+                        "product-repository#find-by-id"));
+
+        Map<String, SpanData> spans = spans();
+        SpanData server = spans.get("http get /api/products/{id}");
+        SpanData service = spans.get("product-service#find-by-id");
+        SpanData repositoryCall = spans.get("product-repository#find-by-id");
+
+        assertThat(server.getParentSpanId()).isEqualTo("00f067aa0ba902b7");
+        assertThat(service.getParentSpanId()).isEqualTo(server.getSpanId());
+        assertThat(repositoryCall.getParentSpanId()).isEqualTo(service.getSpanId());
+        assertThat(spanExporter.getFinishedSpanItems())
+                .filteredOn(span -> span.getParentSpanId().equals(repositoryCall.getSpanId()))
+                .isNotEmpty();
+    }
+
+    private Map<String, SpanData> spans() {
+        List<SpanData> finished = spanExporter.getFinishedSpanItems();
+        return finished.stream()
+                .filter(span -> span.getTraceId().equals(TRACE_ID))
+                .collect(Collectors.toMap(SpanData::getName, Function.identity(), (first, second) -> first));
+    }
+}
@@ -0,0 +1,41 @@
+package com.test.linktic.productsservice.integration;
+
+import com.test.linktic.productsservice.model.Product;
+import com.test.linktic.productsservice.repository.ProductRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the prod profile against H2 in PostgreSQL mode: Flyway has to create the
+ * schema and Hibernate has to validate the entities against it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:products-prod;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@ActiveProfiles("prod")
+class ProductionProfileIntegrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Test
+    void shouldMigrateSchemaAndPersistProducts() {
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("2");
+
+        Product saved = repository.save(new Product(null, "Laptop", 2500.0, "Gaming"));
+
+        assertThat(repository.findById(saved.getId()))
+                .hasValueSatisfying(product -> assertThat(product.getName()).isEqualTo("Laptop"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.test.linktic.productsservice.model.jsonapi;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.linktic.productsservice.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonApiDocumentTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldWriteResourceDocumentLikeMapEnvelope() throws Exception {
+        Product product = new Product(1L, "Laptop", 2500.0, "Gaming");
+
+        JsonNode typed = write(new ResourceDocument(new ProductResource(product)));
+        JsonNode envelope = write(Map.of("data", Map.of("type", "product", "id", 1L, "attributes", product)));
+
+        assertThat(typed).isEqualTo(envelope);
+    }
+
+    @Test
+    void shouldWriteNullAttributesAndId() throws Exception {
+        Product product = new Product(null, "Laptop", null, null);
+
+        JsonNode typed = write(new ResourceDocument(new ProductResource(product)));
+        Map<String, Object> data = new HashMap<>();
+        data.put("type", "product");
+        data.put("id", null);
+        data.put("attributes", product);
+
+        assertThat(typed).isEqualTo(write(Map.of("data", data)));
+    }
+
+    @Test
+    void shouldWriteCollectionDocumentWithPage() throws Exception {
+        Product product = new Product(1L, "Laptop", 2500.0, "Gaming");
+
+        JsonNode typed = write(new CollectionDocument(List.of(new ProductResource(product)),
+                new CollectionDocument.Page(1, 1L, "/api/products?size=1", "/api/products?size=1&after=1")));
+
+        assertThat(typed.at("/data/0/attributes/name").asText()).isEqualTo("Laptop");
+        assertThat(typed.at("/meta/page/size").asInt()).isEqualTo(1);
+        assertThat(typed.at("/meta/page/hasNext").asBoolean()).isTrue();
+        assertThat(typed.at("/meta/page/nextCursor").asLong()).isEqualTo(1L);
+        assertThat(typed.at("/links/next").asText()).isEqualTo("/api/products?size=1&after=1");
+    }
+
+    @Test
+    void shouldWriteErrorDocumentLikeMapEnvelope() throws Exception {
+        JsonNode typed = write(ErrorDocument.of(404, "Product not found", "Missing"));
+        JsonNode envelope = write(Map.of("errors", List.of(Map.of(
+                "status", "404", "title", "Product not found", "detail", "Missing"))));
+
+        assertThat(typed).isEqualTo(envelope);
+    }
+
+    private JsonNode write(Object document) throws Exception {
+        return objectMapper.readTree(objectMapper.writeValueAsBytes(document));
+    }
+}
@@ -1,5 +1,6 @@
 package com.test.linktic.productsservice.service;
 
+import com.test.linktic.productsservice.event.ProductChangedEvent;
 import com.test.linktic.productsservice.model.Product;
 import com.test.linktic.productsservice.repository.ProductRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -8,9 +9,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -20,6 +25,9 @@ public class ProductServiceTest {
     @Mock
     private ProductRepository repository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProductService service;
 
@@ -47,6 +55,22 @@ public class ProductServiceTest {
         assertThat(saved).isNotNull();
         assertThat(saved.getName()).isEqualTo("Laptop");
         verify(repository, times(1)).save(product);
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(1L, "Laptop", 2500.0, "Laptop Gamer"));
+    }
+
+    @Test
+    void shouldCreateProductsInBulkAsNewRows() {
+        Product mouse = new Product(7L, "Mouse", 50.0, "Mouse gamer");
+        when(repository.saveAll(List.of(mouse))).thenAnswer(inv -> {
+            List<Product> products = inv.getArgument(0);
+            products.forEach(p -> p.setId(2L));
+            return products;
+        });
+
+        List<Product> saved = service.createAll(List.of(mouse));
+
+        assertThat(saved).extracting(Product::getId).containsExactly(2L);
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(2L, "Mouse", 50.0, "Mouse gamer"));
     }
 
     @Test
@@ -69,12 +93,44 @@ public class ProductServiceTest {
     }
 
     @Test
-    void shouldListAllProducts() {
-        when(repository.findAll()).thenReturn(List.of(product));
+    void shouldFindAllById() {
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(product));
+
+        List<Product> products = service.findAllById(List.of(1L, 2L));
+
+        assertThat(products).containsExactly(product);
+        verify(repository, times(1)).findAllById(List.of(1L, 2L));
+    }
+
+    @Test
+    void shouldFindPageWithNextCursor() {
+        Product second = new Product(2L, "Mouse", 50.0, "Mouse gamer");
+        Product third = new Product(3L, "Keyboard", 80.0, "Mechanical");
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(List.of(product, second, third));
+
+        ProductPage page = service.findPage(null, 2);
+
+        assertThat(page.products()).containsExactly(product, second);
+        assertThat(page.nextCursor()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldFindLastPage() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(3))).thenReturn(List.of(product));
+
+        ProductPage page = service.findPage(1L, 2);
+
+        assertThat(page.products()).containsExactly(product);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldVisitEveryProductFromStream() {
+        when(repository.streamAllOrderById()).thenReturn(Stream.of(product));
+        List<Product> visited = new ArrayList<>();
 
-        List<Product> products = service.findAll();
+        service.forEachProduct(visited::add);
 
-        assertThat(products).hasSize(1);
-        verify(repository, times(1)).findAll();
+        assertThat(visited).containsExactly(product);
     }
 }